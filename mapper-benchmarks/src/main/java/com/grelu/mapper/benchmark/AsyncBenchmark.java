@@ -0,0 +1,63 @@
+package com.grelu.mapper.benchmark;
+
+import com.grelu.mapper.benchmark.mock.DataBean;
+import com.grelu.mapper.benchmark.mock.EntityBean;
+import com.grelu.mapper.benchmark.mock.Fixtures;
+import com.grelu.mapper.core.ObjectWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API asynchrones (toDataAsync / toDatasAsync)
+ *
+ * @author Dorian GRELU
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncBenchmark {
+
+	@Param({"10", "1000"})
+	private int size;
+
+	private ObjectWrapper<EntityBean, DataBean> wrapper;
+
+	private EntityBean entity;
+
+	private List<EntityBean> entities;
+
+	@Setup
+	public void setup() {
+		this.wrapper = Fixtures.converterBuilder(0).build();
+		this.entity = Fixtures.entity(42);
+		this.entities = Fixtures.entities(this.size);
+	}
+
+	@Benchmark
+	public DataBean toDataAsync() {
+		return this.wrapper.toDataAsync(this.entity).join();
+	}
+
+	@Benchmark
+	public Object toDatasAsync() {
+		List<CompletableFuture<DataBean>> futures = this.wrapper.toDatasAsync(this.entities);
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.grelu.mapper.benchmark;
+
+import com.grelu.mapper.benchmark.mock.DataBean;
+import com.grelu.mapper.benchmark.mock.EntityBean;
+import com.grelu.mapper.benchmark.mock.Fixtures;
+import com.grelu.mapper.core.ObjectWrapper;
+import com.grelu.mapper.core.execution.ExecutionStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion par lot (toDatas / mapDatas) selon la taille de la liste et la stratégie d'exécution
+ *
+ * @author Dorian GRELU
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BatchBenchmark {
+
+	@Param({"10", "1000", "100000", "1000000"})
+	private int size;
+
+	@Param({"commonPool", "sequential", "forkJoin"})
+	private String strategy;
+
+	private ExecutionStrategy executionStrategy;
+
+	private ObjectWrapper<EntityBean, DataBean> wrapper;
+
+	private List<EntityBean> entities;
+
+	private List<DataBean> datas;
+
+	@Setup
+	public void setup() {
+		this.executionStrategy = switch (this.strategy) {
+			case "sequential" -> ExecutionStrategy.sequential();
+			case "forkJoin" -> ExecutionStrategy.forkJoin(Runtime.getRuntime().availableProcessors());
+			default -> ExecutionStrategy.commonPool();
+		};
+		this.wrapper = Fixtures.converterBuilder(1)
+				.setExecutionStrategy(this.executionStrategy)
+				.build();
+		this.entities = Fixtures.entities(this.size);
+		this.datas = this.wrapper.toDatas(this.entities, false);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.executionStrategy.close();
+	}
+
+	@Benchmark
+	public List<DataBean> toDatas() {
+		return this.wrapper.toDatas(this.entities);
+	}
+
+	@Benchmark
+	public List<DataBean> mapDatas() {
+		return this.wrapper.mapDatas(this.datas);
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.grelu.mapper.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Point d'entrée du jar de benchmarks
+ * Accepte les options JMH habituelles, le profiler GC est toujours activé pour suivre le taux d'allocation
+ *
+ * <pre>java -jar mapper-benchmarks/target/benchmarks.jar [regexp] [options JMH]</pre>
+ *
+ * @author Dorian GRELU
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build())
+				.run();
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.grelu.mapper.benchmark;
+
+import com.grelu.mapper.benchmark.mock.DataBean;
+import com.grelu.mapper.benchmark.mock.EntityBean;
+import com.grelu.mapper.benchmark.mock.Fixtures;
+import com.grelu.mapper.core.ObjectWrapper;
+import com.grelu.mapper.core.builder.WrapperBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion unitaire au travers d'ObjectWrapperImpl
+ *
+ * @author Dorian GRELU
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WrapperBenchmark {
+
+	private ObjectWrapper<EntityBean, DataBean> converterWrapper;
+
+	private ObjectWrapper<EntityBean, DataBean> mappersWrapper;
+
+	private ObjectWrapper<EntityBean, DataBean> modelMapperWrapper;
+
+	private ObjectWrapper<EntityBean, DataBean> compiledWrapper;
+
+	private EntityBean entity;
+
+	private DataBean data;
+
+	@Setup
+	public void setup() {
+		this.converterWrapper = Fixtures.converterBuilder(0).build();
+		this.mappersWrapper = Fixtures.converterBuilder(3).build();
+		this.modelMapperWrapper = WrapperBuilder.getInstance(EntityBean.class, DataBean.class).build();
+		this.compiledWrapper = WrapperBuilder.getInstance(EntityBean.class, DataBean.class).useCompiledMappingEngine().build();
+		this.entity = Fixtures.entity(42);
+		this.data = Fixtures.convert(this.entity);
+	}
+
+	@Benchmark
+	public DataBean toDataConverter() {
+		return this.converterWrapper.toData(this.entity);
+	}
+
+	@Benchmark
+	public DataBean toDataConverterWithMappers() {
+		return this.mappersWrapper.toData(this.entity);
+	}
+
+	@Benchmark
+	public EntityBean toEntityConverter() {
+		return this.converterWrapper.toEntity(this.data);
+	}
+
+	@Benchmark
+	public DataBean toDataModelMapper() {
+		return this.modelMapperWrapper.toData(this.entity);
+	}
+
+	@Benchmark
+	public DataBean toDataCompiled() {
+		return this.compiledWrapper.toData(this.entity);
+	}
+
+	@Benchmark
+	public EntityBean toEntityModelMapper() {
+		return this.modelMapperWrapper.toEntity(this.data);
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.grelu.mapper.benchmark.mock;
+
+import com.grelu.mapper.core.builder.WrapperBuilder;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Jeux de données et wrappers communs aux benchmarks
+ *
+ * @author Dorian GRELU
+ */
+public final class Fixtures {
+
+	private Fixtures() {
+	}
+
+	public static EntityBean entity(long id) {
+		EntityBean entity = new EntityBean();
+		entity.setId(id);
+		entity.setFirstname("firstname" + id);
+		entity.setLastname("lastname" + id);
+		entity.setEmail("user" + id + "@grelu.com");
+		entity.setAge((int) (id % 100));
+		entity.setBirthday(new Date(id));
+		entity.setActive(id % 2 == 0);
+		return entity;
+	}
+
+	public static List<EntityBean> entities(int size) {
+		List<EntityBean> entities = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			entities.add(entity(i));
+		}
+		return entities;
+	}
+
+	public static DataBean convert(EntityBean entity) {
+		DataBean data = new DataBean();
+		data.setId(entity.getId());
+		data.setFirstname(entity.getFirstname());
+		data.setLastname(entity.getLastname());
+		data.setEmail(entity.getEmail());
+		data.setAge(entity.getAge());
+		data.setBirthday(entity.getBirthday());
+		data.setActive(entity.isActive());
+		return data;
+	}
+
+	public static EntityBean convert(DataBean data) {
+		EntityBean entity = new EntityBean();
+		entity.setId(data.getId());
+		entity.setFirstname(data.getFirstname());
+		entity.setLastname(data.getLastname());
+		entity.setEmail(data.getEmail());
+		entity.setAge(data.getAge());
+		entity.setBirthday(data.getBirthday());
+		entity.setActive(data.isActive());
+		return entity;
+	}
+
+	/**
+	 * Wrapper avec convertisseurs écrits à la main
+	 *
+	 * @param mappers nombre de mappers ajoutés côté domaine
+	 */
+	public static WrapperBuilder<EntityBean, DataBean> converterBuilder(int mappers) {
+		WrapperBuilder<EntityBean, DataBean> builder = WrapperBuilder.getInstance(EntityBean.class, DataBean.class)
+				.setDataConverter(context -> convert(context.getValue()))
+				.setEntityConverter(context -> convert(context.getValue()));
+		for (int i = 0; i < mappers; i++) {
+			builder.addDataMapper(data -> {
+				data.setAge(data.getAge() + 1);
+				return data;
+			});
+		}
+		return builder;
+	}
+
+}
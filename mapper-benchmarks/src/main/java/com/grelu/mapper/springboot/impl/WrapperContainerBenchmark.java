@@ -0,0 +1,94 @@
+package com.grelu.mapper.springboot.impl;
+
+import com.grelu.mapper.benchmark.mock.DataBean;
+import com.grelu.mapper.benchmark.mock.EntityBean;
+import com.grelu.mapper.benchmark.mock.Fixtures;
+import com.grelu.mapper.core.ObjectWrapper;
+import com.grelu.mapper.springboot.ColumnarBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Résolution et conversion au travers du conteneur
+ * Placé dans le package de l'implémentation, qui n'est pas publique
+ *
+ * @author Dorian GRELU
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WrapperContainerBenchmark {
+
+	@Param({"10", "100", "1000"})
+	private int wrappers;
+
+	private WrapperContainerImpl container;
+
+	private String lastOption;
+
+	private EntityBean entity;
+
+	private List<DataBean> flattenRows;
+
+	@Setup
+	public void setup() {
+		List<ObjectWrapper<?, ?>> components = new ArrayList<>();
+		for (int i = 0; i < this.wrappers; i++) {
+			String option = "option-" + i;
+			components.add(Fixtures.converterBuilder(0)
+					.setSupportData((clazz, o) -> DataBean.class.equals(clazz) && option.equals(o))
+					.setSupportEntity((clazz, o) -> EntityBean.class.equals(clazz) && option.equals(o))
+					.build());
+		}
+		this.container = new WrapperContainerImpl(components);
+		this.lastOption = "option-" + (this.wrappers - 1); // Pire cas pour un parcours linéaire
+		this.entity = Fixtures.entity(42);
+		this.flattenRows = new ArrayList<>();
+		for (EntityBean row : Fixtures.entities(1000)) {
+			this.flattenRows.add(Fixtures.convert(row));
+		}
+	}
+
+	@Benchmark
+	public ObjectWrapper<?, ?> resolveDataWrapper() {
+		return this.container.resolveDataWrapper(DataBean.class, this.lastOption);
+	}
+
+	@Benchmark
+	public DataBean toData() {
+		return this.container.toData(DataBean.class, this.entity, true, this.lastOption);
+	}
+
+	@Benchmark
+	public ObjectWrapper<?, ?> resolveUnknownWrapper() {
+		return this.container.resolveDataWrapper(String.class, this.lastOption);
+	}
+
+	@Benchmark
+	public List<Map<String, Object>> flatMap() {
+		return this.container.flatMap(this.flattenRows);
+	}
+
+	@Benchmark
+	public ColumnarBatch flatColumns() {
+		return this.container.flatColumns(this.flattenRows);
+	}
+
+}
@@ -1,9 +1,20 @@
 package com.grelu.mapper.core;
 
+import com.grelu.mapper.core.engine.WarmUpReport;
+import com.grelu.mapper.core.execution.BatchConversionException;
+import com.grelu.mapper.core.execution.BatchResult;
+import com.grelu.mapper.core.execution.ExecutionStrategy;
+import com.grelu.mapper.core.stream.ConversionPublisher;
+import com.grelu.mapper.core.stream.ConversionStreams;
+import com.grelu.mapper.core.stream.StreamOptions;
+
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 /**
  * @param <E> Type d'entité
@@ -59,6 +70,28 @@ public interface ObjectWrapper<E, D> {
 	 */
 	E toEntity(D fromData, boolean triggerMap);
 
+	/**
+	 * Met à jour une entité existante à partir d'un objet métier, sans créer de nouvelle instance
+	 * Attention déclenche un Map après la conversion
+	 *
+	 * @param fromData domaine métier
+	 * @param target   entité à mettre à jour
+	 * @return entité mise à jour (la cible, sauf convertisseur ou mapper retournant une autre instance)
+	 */
+	default E updateEntity(D fromData, E target) {
+		return this.updateEntity(fromData, target, false);
+	}
+
+	/**
+	 * Met à jour une entité existante à partir d'un objet métier
+	 *
+	 * @param fromData  domaine métier
+	 * @param target    entité à mettre à jour
+	 * @param skipNulls les propriétés nulles de l'objet métier ne remplacent pas celles de l'entité
+	 * @return entité mise à jour
+	 */
+	E updateEntity(D fromData, E target, boolean skipNulls);
+
 	default List<E> toEntities(List<D> datas, Class<E> clazz) {
 		return this.toEntities(datas, clazz, true);
 	}
@@ -111,6 +144,28 @@ public interface ObjectWrapper<E, D> {
 
 	D toData(E fromEntity, Class<D> clazz, boolean triggerMap);
 
+	/**
+	 * Met à jour un objet métier existant à partir d'une entité, sans créer de nouvelle instance
+	 * Attention déclenche un Map après la conversion
+	 *
+	 * @param fromEntity entité
+	 * @param target     domaine métier à mettre à jour
+	 * @return domaine métier mis à jour
+	 */
+	default D updateData(E fromEntity, D target) {
+		return this.updateData(fromEntity, target, false);
+	}
+
+	/**
+	 * Met à jour un objet métier existant à partir d'une entité
+	 *
+	 * @param fromEntity entité
+	 * @param target     domaine métier à mettre à jour
+	 * @param skipNulls  les propriétés nulles de l'entité ne remplacent pas celles de l'objet métier
+	 * @return domaine métier mis à jour
+	 */
+	D updateData(E fromEntity, D target, boolean skipNulls);
+
 	/**
 	 * Convertis une liste d'entité en domaine métier
 	 * Déclenche un Map automatiquement
@@ -244,6 +299,161 @@ public interface ObjectWrapper<E, D> {
 		return fromDatas.stream().map(this::toEntityAsync).toList();
 	}
 	
+	/**
+	 * Convertis paresseusement un flux d'entités en domaines métier
+	 * Déclenche un Map automatiquement
+	 *
+	 * @param fromEntities flux des entités
+	 * @return flux des domaines
+	 */
+	default Stream<D> toDataStream(Stream<E> fromEntities) {
+		return this.toDataStream(fromEntities, StreamOptions.sequential());
+	}
+
+	/**
+	 * Convertis un flux d'entités en domaines métier, éventuellement en parallèle (borné)
+	 *
+	 * @param fromEntities flux des entités
+	 * @param options      options du flux
+	 * @return flux des domaines
+	 */
+	default Stream<D> toDataStream(Stream<E> fromEntities, StreamOptions options) {
+		return ConversionStreams.stream(fromEntities, this::toData, options, this.getExecutionStrategy().executor());
+	}
+
+	default Iterator<D> toDataIterator(Iterator<E> fromEntities) {
+		return this.toDataIterator(fromEntities, StreamOptions.sequential());
+	}
+
+	default Iterator<D> toDataIterator(Iterator<E> fromEntities, StreamOptions options) {
+		return ConversionStreams.iterator(fromEntities, this::toData, options, this.getExecutionStrategy().executor());
+	}
+
+	/**
+	 * Convertis paresseusement un flux de domaines métier en entités
+	 * Déclenche un Map automatiquement
+	 *
+	 * @param fromDatas flux des domaines
+	 * @return flux des entités
+	 */
+	default Stream<E> toEntityStream(Stream<D> fromDatas) {
+		return this.toEntityStream(fromDatas, StreamOptions.sequential());
+	}
+
+	/**
+	 * Convertis un flux de domaines métier en entités, éventuellement en parallèle (borné)
+	 *
+	 * @param fromDatas flux des domaines
+	 * @param options   options du flux
+	 * @return flux des entités
+	 */
+	default Stream<E> toEntityStream(Stream<D> fromDatas, StreamOptions options) {
+		return ConversionStreams.stream(fromDatas, this::toEntity, options, this.getExecutionStrategy().executor());
+	}
+
+	default Iterator<E> toEntityIterator(Iterator<D> fromDatas) {
+		return this.toEntityIterator(fromDatas, StreamOptions.sequential());
+	}
+
+	default Iterator<E> toEntityIterator(Iterator<D> fromDatas, StreamOptions options) {
+		return ConversionStreams.iterator(fromDatas, this::toEntity, options, this.getExecutionStrategy().executor());
+	}
+
+	/**
+	 * Convertis les entités publiées en domaines métier, en respectant la demande de l'abonné
+	 * Parallélisme égal au nombre de processeurs, ordre conservé
+	 *
+	 * @param fromEntities publisher des entités
+	 * @return publisher des domaines
+	 */
+	default Flow.Publisher<D> toDataPublisher(Flow.Publisher<E> fromEntities) {
+		return this.toDataPublisher(fromEntities, ConversionPublisher.defaultOptions());
+	}
+
+	/**
+	 * Convertis les entités publiées en domaines métier, en respectant la demande de l'abonné
+	 * Une erreur de conversion est propagée par onError
+	 *
+	 * @param fromEntities publisher des entités
+	 * @param options      concurrence maximale, ordre et exécuteur
+	 * @return publisher des domaines
+	 */
+	default Flow.Publisher<D> toDataPublisher(Flow.Publisher<E> fromEntities, StreamOptions options) {
+		return new ConversionPublisher<>(fromEntities, this::toData, options, this.getExecutionStrategy().executor());
+	}
+
+	default Flow.Publisher<E> toEntityPublisher(Flow.Publisher<D> fromDatas) {
+		return this.toEntityPublisher(fromDatas, ConversionPublisher.defaultOptions());
+	}
+
+	/**
+	 * Convertis les domaines publiés en entités, en respectant la demande de l'abonné
+	 * Une erreur de conversion est propagée par onError
+	 *
+	 * @param fromDatas publisher des domaines
+	 * @param options   concurrence maximale, ordre et exécuteur
+	 * @return publisher des entités
+	 */
+	default Flow.Publisher<E> toEntityPublisher(Flow.Publisher<D> fromDatas, StreamOptions options) {
+		return new ConversionPublisher<>(fromDatas, this::toEntity, options, this.getExecutionStrategy().executor());
+	}
+
+	/**
+	 * Convertis une liste d'entités en domaines métiers, sans échouer sur le premier élément en erreur
+	 * Déclenche un Map automatiquement
+	 *
+	 * @param fromEntities entités
+	 * @return résultats convertis et erreurs par position
+	 */
+	default BatchResult<D> tryToDatas(List<E> fromEntities) {
+		return this.tryToDatas(fromEntities, true);
+	}
+
+	default BatchResult<D> tryToDatas(List<E> fromEntities, boolean triggerMap) {
+		try {
+			return BatchResult.of(this.toDatas(fromEntities, triggerMap));
+		} catch (BatchConversionException e) {
+			return BatchResult.of(e);
+		}
+	}
+
+	/**
+	 * Convertis une liste d'objets métier en entités, sans échouer sur le premier élément en erreur
+	 * Déclenche un Map automatiquement
+	 *
+	 * @param fromDatas domaines métiers
+	 * @return résultats convertis et erreurs par position
+	 */
+	default BatchResult<E> tryToEntities(List<D> fromDatas) {
+		return this.tryToEntities(fromDatas, true);
+	}
+
+	default BatchResult<E> tryToEntities(List<D> fromDatas, boolean triggerMap) {
+		try {
+			return BatchResult.of(this.toEntities(fromDatas, triggerMap));
+		} catch (BatchConversionException e) {
+			return BatchResult.of(e);
+		}
+	}
+
+	/**
+	 * Prépare les conversions faites par le moteur par défaut (sens sans convertisseur), pour éviter le coût du premier appel
+	 *
+	 * @return rapport de préparation
+	 */
+	default WarmUpReport warmUp() {
+		return WarmUpReport.empty();
+	}
+
+	/**
+	 * Stratégie d'exécution des traitements par lot, asynchrones et des flux parallèles
+	 *
+	 * @return stratégie d'exécution
+	 */
+	default ExecutionStrategy getExecutionStrategy() {
+		return ExecutionStrategy.commonPool();
+	}
+
 	default Optional<E> toSafeEntity(D fromData) {
 		if (null == fromData) {
 			return Optional.empty();
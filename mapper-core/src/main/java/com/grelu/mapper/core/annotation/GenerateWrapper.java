@@ -0,0 +1,38 @@
+package com.grelu.mapper.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Demande la génération, à la compilation, des convertisseurs d'un couple entité / domaine
+ * <p>
+ * Nécessite le processeur d'annotations du module mapper-processor.
+ * La classe générée (dans le package du type annoté) expose un {@code ToDataConverter}, un {@code ToEntityConverter}
+ * et un {@code WrapperBuilder} préconfiguré, basés sur des appels directs aux getters / setters (ou champs accessibles).
+ *
+ * @author Dorian GRELU
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+@Repeatable(GenerateWrappers.class)
+public @interface GenerateWrapper {
+
+	/**
+	 * @return type d'entité
+	 */
+	Class<?> entity();
+
+	/**
+	 * @return type de domaine
+	 */
+	Class<?> data();
+
+	/**
+	 * @return nom simple de la classe générée, par défaut {@code <Entité><Domaine>Wrapper}
+	 */
+	String name() default "";
+
+}
@@ -0,0 +1,19 @@
+package com.grelu.mapper.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Conteneur de {@link GenerateWrapper}
+ *
+ * @author Dorian GRELU
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateWrappers {
+
+	GenerateWrapper[] value();
+
+}
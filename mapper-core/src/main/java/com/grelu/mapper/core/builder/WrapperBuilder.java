@@ -1,12 +1,19 @@
 package com.grelu.mapper.core.builder;
 
 
-import com.grelu.mapper.core.CustomModelMapper;
 import com.grelu.mapper.core.ObjectWrapper;
+import com.grelu.mapper.core.cache.ConversionCache;
+import com.grelu.mapper.core.engine.MappingEngine;
+import com.grelu.mapper.core.execution.ExecutionStrategy;
+import com.grelu.mapper.core.helper.BatchMapper;
 import com.grelu.mapper.core.helper.Mapper;
+import com.grelu.mapper.core.helper.MapperPipeline;
 import com.grelu.mapper.core.helper.Resolvable;
 import com.grelu.mapper.core.helper.ToDataConverter;
 import com.grelu.mapper.core.helper.ToEntityConverter;
+import com.grelu.mapper.core.metrics.WrapperInstrumentation;
+import com.grelu.mapper.core.resolver.ModelMapperRegistry;
+import com.grelu.mapper.core.resolver.ModelMapperResolver;
 import com.grelu.mapper.core.impl.ObjectWrapperImpl;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -23,10 +30,20 @@ public class WrapperBuilder<E, D> {
 
 	private final ModelMapper mapper;
 
+	private ModelMapperResolver modelMapperResolver = ModelMapperResolver.shared();
+
+	private String modelMapperProfile = ModelMapperRegistry.DEFAULT_PROFILE;
+
 	private final Deque<Mapper<E>> entitiesMapper;
 
 	private final Deque<Mapper<D>> datasMapper;
 
+	private final Deque<BatchMapper<E>> entitiesBatchMapper = new ArrayDeque<>();
+
+	private final Deque<BatchMapper<D>> datasBatchMapper = new ArrayDeque<>();
+
+	private int batchChunkSize = MapperPipeline.DEFAULT_CHUNK_SIZE;
+
 	private ToDataConverter<E, D> toDataConverter = null;
 
 	private ToEntityConverter<E, D> toEntityConverter = null;
@@ -45,17 +62,36 @@ public class WrapperBuilder<E, D> {
 
 	private int priority = -1;
 
+	private ExecutionStrategy executionStrategy = ExecutionStrategy.commonPool();
+
+	private MappingEngine mappingEngine = null;
+
+	private boolean identityScoped = false;
+
+	private ConversionCache<E, D> dataCache = null;
+
+	private ConversionCache<D, E> entityCache = null;
+
+	private String name = null;
+
+	private WrapperInstrumentation instrumentation = WrapperInstrumentation.NOOP;
+
+	private boolean warmUp = false;
+
 
 	private WrapperBuilder() {
 		this(null, null);
 	}
 
 	private WrapperBuilder(Class<E> entityClazzType, Class<D> dataClazzType) {
-		this(new CustomModelMapper(), entityClazzType, dataClazzType);
+		this(null, entityClazzType, dataClazzType);
 	}
 
+	/**
+	 * @param modelMapper mapper propre au wrapper, null pour utiliser le mapper partagé du registre
+	 */
 	private WrapperBuilder(ModelMapper modelMapper, Class<E> entityClazzType, Class<D> dataClazzType) {
-		logger.trace("Create new builder for entity ({}), domain ({}), and {} mapper", entityClazzType, dataClazzType, modelMapper.getClass());
+		logger.trace("Create new builder for entity ({}), domain ({}), and {} mapper", entityClazzType, dataClazzType, modelMapper != null ? modelMapper.getClass() : "shared");
 		this.entityClazzType = entityClazzType;
 		this.dataClazzType = dataClazzType;
 		this.entitiesMapper = new ArrayDeque<>();
@@ -85,6 +121,118 @@ public class WrapperBuilder<E, D> {
 		return this;
 	}
 
+	/**
+	 * Définit la stratégie d'exécution des conversions par lot et asynchrones
+	 * Par défaut, le ForkJoinPool commun est utilisé
+	 *
+	 * @param executionStrategy stratégie d'exécution
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setExecutionStrategy(ExecutionStrategy executionStrategy) {
+		this.checkState();
+		if (null == executionStrategy) {
+			throw new IllegalArgumentException("Missing required execution strategy");
+		}
+		logger.trace("Define execution strategy {}", executionStrategy.getClass());
+		this.executionStrategy = executionStrategy;
+		return this;
+	}
+
+	/**
+	 * Définit le moteur utilisé lorsqu'aucun convertisseur n'est défini
+	 * Par défaut, le ModelMapper du builder est utilisé
+	 *
+	 * @param mappingEngine moteur de conversion, null pour revenir au ModelMapper
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setMappingEngine(MappingEngine mappingEngine) {
+		this.checkState();
+		logger.trace("{} mapping engine", mappingEngine != null ? "Define" : "Reset");
+		this.mappingEngine = mappingEngine;
+		return this;
+	}
+
+	/**
+	 * Utilise le moteur compilé (accesseurs directs, sans réflexion à l'exécution) à la place de ModelMapper
+	 *
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> useCompiledMappingEngine() {
+		return this.setMappingEngine(MappingEngine.compiled());
+	}
+
+	/**
+	 * Active le cache d'identité : au sein d'un même appel (conversion unitaire ou par lot), une instance source déjà convertie
+	 * réutilise son résultat, les doublons d'une liste partagent alors le même objet converti.
+	 * Sans convertisseur, un lot est converti en un seul appel du moteur, dans le thread appelant : avec ModelMapper, les sous-objets
+	 * communs à plusieurs éléments (un même client dans plusieurs commandes) sont eux aussi partagés et les cycles résolus.
+	 * Avec un convertisseur, un sous-objet est partagé entre les éléments s'il est converti avec {@link WrapperContext#convertNested(Object, Class)}.
+	 * Désactivé par défaut
+	 *
+	 * @param identityScoped activation du cache d'identité
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setIdentityScoped(boolean identityScoped) {
+		this.checkState();
+		this.identityScoped = identityScoped;
+		return this;
+	}
+
+	/**
+	 * Mémorise les conversions vers le domaine (avec mappers), à réserver aux conversions idempotentes de données immuables
+	 * Les mappers par lot ne sont pas mémorisés : ils sont appliqués après le cache, sur la liste entière
+	 * Le cache peut être conservé par l'appelant pour consulter ses statistiques
+	 *
+	 * @param dataCache cache, null pour le désactiver
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setDataCache(ConversionCache<E, D> dataCache) {
+		this.checkState();
+		this.dataCache = dataCache;
+		return this;
+	}
+
+	/**
+	 * Mémorise les conversions vers l'entité (avec mappers), à réserver aux conversions idempotentes de données immuables
+	 * Les mappers par lot ne sont pas mémorisés : ils sont appliqués après le cache, sur la liste entière
+	 *
+	 * @param entityCache cache, null pour le désactiver
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setEntityCache(ConversionCache<D, E> entityCache) {
+		this.checkState();
+		this.entityCache = entityCache;
+		return this;
+	}
+
+	/**
+	 * Nom du wrapper, utilisé par l'instrumentation
+	 * Par défaut : noms simples de l'entité et du domaine (EntityMock:DomainMock)
+	 *
+	 * @param name nom du wrapper
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setName(String name) {
+		this.checkState();
+		this.name = name;
+		return this;
+	}
+
+	/**
+	 * Définit l'instrumentation (durées, tailles de lot, erreurs des mappers), désactivée par défaut
+	 *
+	 * @param instrumentation instrumentation
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setInstrumentation(WrapperInstrumentation instrumentation) {
+		this.checkState();
+		if (null == instrumentation) {
+			throw new IllegalArgumentException("Missing required instrumentation");
+		}
+		this.instrumentation = instrumentation;
+		return this;
+	}
+
 	public WrapperBuilder<E, D> setSupportEntity(Resolvable r) {
 		logger.trace("{} is support entity", r != null ? "Define" : "Reset");
 		this.supportEntity = r;
@@ -110,6 +258,58 @@ public class WrapperBuilder<E, D> {
 	}
 
 
+	/**
+	 * Ajoute un mapper appliqué par lots sur les objets du domaine, après les mappers unitaires
+	 * Une liste est découpée en lots de {@link #setBatchChunkSize(int)} objets, une conversion unitaire forme un lot d'un objet
+	 *
+	 * @param mapper mapper par lot
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> addDataBatchMapper(BatchMapper<D> mapper) {
+		this.checkState();
+		logger.trace("Add domain batch mapper");
+		try {
+			this.readWriteLock.readLock().lock();
+			this.datasBatchMapper.add(mapper);
+		} finally {
+			this.readWriteLock.readLock().unlock();
+		}
+		return this;
+	}
+
+	/**
+	 * Ajoute un mapper appliqué par lots sur les entités, après les mappers unitaires
+	 *
+	 * @param mapper mapper par lot
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> addEntityBatchMapper(BatchMapper<E> mapper) {
+		this.checkState();
+		logger.trace("Add entity batch mapper");
+		try {
+			this.readWriteLock.readLock().lock();
+			this.entitiesBatchMapper.add(mapper);
+		} finally {
+			this.readWriteLock.readLock().unlock();
+		}
+		return this;
+	}
+
+	/**
+	 * Taille maximale des lots reçus par les mappers par lot, {@value MapperPipeline#DEFAULT_CHUNK_SIZE} par défaut
+	 *
+	 * @param batchChunkSize taille de lot
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setBatchChunkSize(int batchChunkSize) {
+		this.checkState();
+		if (batchChunkSize <= 0) {
+			throw new IllegalArgumentException("Chunk size must be positive");
+		}
+		this.batchChunkSize = batchChunkSize;
+		return this;
+	}
+
 	public WrapperBuilder<E, D> setEntityClazzType(Class<E> clazz) {
 		this.entityClazzType = clazz;
 		return this;
@@ -158,27 +358,101 @@ public class WrapperBuilder<E, D> {
 	}
 
 
+	/**
+	 * Registre fournissant le ModelMapper partagé, lorsqu'aucun mapper n'est donné au builder
+	 * Par défaut {@link ModelMapperRegistry#shared()}
+	 *
+	 * @param modelMapperRegistry registre
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setModelMapperRegistry(ModelMapperRegistry modelMapperRegistry) {
+		if (null == modelMapperRegistry) {
+			throw new IllegalArgumentException("Missing required model mapper registry");
+		}
+		return this.setModelMapperResolver(ModelMapperResolver.of(modelMapperRegistry));
+	}
+
+	/**
+	 * Résolution du ModelMapper partagé, lorsqu'aucun mapper n'est donné au builder
+	 * Par défaut {@link ModelMapperResolver#shared()}, le starter Spring fournit celui du contexte
+	 *
+	 * @param modelMapperResolver résolution des mappers par profil
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setModelMapperResolver(ModelMapperResolver modelMapperResolver) {
+		this.checkState();
+		if (null == modelMapperResolver) {
+			throw new IllegalArgumentException("Missing required model mapper resolver");
+		}
+		this.modelMapperResolver = modelMapperResolver;
+		return this;
+	}
+
+	/**
+	 * Profil de configuration du ModelMapper partagé, {@value ModelMapperRegistry#DEFAULT_PROFILE} par défaut
+	 * Les wrappers d'un même profil partagent le mapper et ses TypeMaps
+	 *
+	 * @param modelMapperProfile profil déclaré dans le registre
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setModelMapperProfile(String modelMapperProfile) {
+		this.checkState();
+		if (null == modelMapperProfile) {
+			throw new IllegalArgumentException("Missing required model mapper profile");
+		}
+		this.modelMapperProfile = modelMapperProfile;
+		return this;
+	}
+
+	/**
+	 * Prépare les conversions du moteur par défaut dès la construction du wrapper (TypeMaps ModelMapper, mappings compilés)
+	 * Le premier appel ne paye alors plus l'introspection. Désactivé par défaut (préparation au premier appel)
+	 *
+	 * @param warmUp préparation à la construction
+	 * @return builder
+	 */
+	public WrapperBuilder<E, D> setWarmUp(boolean warmUp) {
+		this.checkState();
+		this.warmUp = warmUp;
+		return this;
+	}
+
 	public ObjectWrapper<E, D> build() {
 		this.checkState(true);
 		logger.trace("Trigger build");
 		try {
 			this.readWriteLock.writeLock().lock();
 			this.hasBuild = true;
-			return new ObjectWrapperImpl<>(this.mapper,
+			String name = this.name != null ? this.name : this.entityClazzType.getSimpleName() + ":" + this.dataClazzType.getSimpleName();
+			ObjectWrapper<E, D> wrapper = new ObjectWrapperImpl<>(this.mappingEngine != null ? this.mappingEngine : MappingEngine.modelMapper(this.modelMapper()),
 					this.toEntityConverter,
 					this.toDataConverter,
-					this.entitiesMapper,
-					this.datasMapper,
+					MapperPipeline.of(this.entitiesMapper, this.entitiesBatchMapper, this.batchChunkSize),
+					MapperPipeline.of(this.datasMapper, this.datasBatchMapper, this.batchChunkSize),
 					this.entityClazzType,
 					this.dataClazzType,
 					this.supportEntity,
 					this.supportData,
-					this.priority);
+					this.priority,
+					this.executionStrategy,
+					this.identityScoped,
+					this.dataCache,
+					this.entityCache,
+					name,
+					this.instrumentation);
+			if (this.warmUp) {
+				logger.debug("Warm-up {}: {}", name, wrapper.warmUp().throwIfFailed());
+			}
+			return wrapper;
 		} finally {
 			this.readWriteLock.writeLock().unlock();
 		}
 	}
 
+	private ModelMapper modelMapper() {
+		return this.mapper != null ? this.mapper : this.modelMapperResolver.resolve(this.modelMapperProfile);
+	}
+
 	private void checkState() {
 		this.checkState(false);
 	}
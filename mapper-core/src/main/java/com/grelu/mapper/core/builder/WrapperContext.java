@@ -1,25 +1,53 @@
 package com.grelu.mapper.core.builder;
 
 
+import com.grelu.mapper.core.engine.MappingEngine;
+import com.grelu.mapper.core.engine.ModelMapperEngine;
+import com.grelu.mapper.core.helper.IdentityScope;
 import org.modelmapper.ModelMapper;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
 public class WrapperContext<F, T> {
 
 
-	private final ModelMapper modelMapper;
+	private final MappingEngine mappingEngine;
 	private final F value;
 	private Class<T> clazz;
 	private final Map<String, Object> parameters;
+	private final IdentityScope identityScope;
+	private final T target;
+	private final boolean skipNulls;
 
 	public WrapperContext(final ModelMapper modelMapper, final F value, final Class<T> clazz, Map<String, Object> parameters) {
-		this.modelMapper = modelMapper;
+		this(modelMapper == null ? null : MappingEngine.modelMapper(modelMapper), value, clazz, parameters);
+	}
+
+	public WrapperContext(final MappingEngine mappingEngine, final F value, final Class<T> clazz, Map<String, Object> parameters) {
+		this(mappingEngine, value, clazz, parameters, null);
+	}
+
+	/**
+	 * @param identityScope cache d'identité de l'appel en cours, null si le wrapper ne l'active pas
+	 */
+	public WrapperContext(final MappingEngine mappingEngine, final F value, final Class<T> clazz, Map<String, Object> parameters, IdentityScope identityScope) {
+		this(mappingEngine, value, clazz, parameters, identityScope, null, false);
+	}
+
+	/**
+	 * @param target    instance existante à mettre à jour, null pour créer une nouvelle instance
+	 * @param skipNulls les propriétés nulles de la valeur ne remplacent pas celles de la cible
+	 */
+	public WrapperContext(final MappingEngine mappingEngine, final F value, final Class<T> clazz, Map<String, Object> parameters, IdentityScope identityScope,
+						  T target, boolean skipNulls) {
+		this.mappingEngine = mappingEngine;
 		this.value = value;
 		this.clazz = clazz;
-		this.parameters = new HashMap<>(parameters); // On clone pour avoir une instance isolée
+		this.parameters = Map.copyOf(parameters); // Aucune copie si les paramètres sont déjà un snapshot immuable
+		this.identityScope = identityScope;
+		this.target = target;
+		this.skipNulls = skipNulls;
 	}
 
 
@@ -30,19 +58,88 @@ public class WrapperContext<F, T> {
 		return this.useDefaultModelMapper();
 	}
 
+	/**
+	 * Convertis la valeur avec le moteur par défaut du wrapper (ModelMapper, ou moteur compilé)
+	 *
+	 * @return valeur convertie
+	 */
 	public T useDefaultModelMapper() {
-		return this.useCustomModelMapper(this.modelMapper);
+		if (this.mappingEngine == null) {
+			throw new IllegalStateException("Missing required default model mapper");
+		}
+		if (this.target != null) { // Mise à jour de l'instance fournie, aucune création
+			this.mappingEngine.map(this.getValue(), this.target, this.skipNulls);
+			return this.target;
+		}
+		if (this.identityScope != null) { // Une source déjà convertie dans l'appel n'est pas convertie à nouveau
+			return this.identityScope.computeIfAbsent(this.getValue(), this.clazz, source -> this.mappingEngine.map(source, this.clazz));
+		}
+		return this.mappingEngine.map(this.getValue(), this.clazz);
+	}
+
+	/**
+	 * Convertis un sous-objet de la valeur avec le moteur par défaut, via le cache d'identité s'il est actif :
+	 * un sous-objet partagé par plusieurs éléments d'un lot n'est alors converti qu'une seule fois
+	 *
+	 * @param source sous-objet à convertir
+	 * @param type   type cible
+	 * @return sous-objet converti, null si la source est nulle
+	 */
+	public <N> N convertNested(Object source, Class<N> type) {
+		if (this.mappingEngine == null) {
+			throw new IllegalStateException("Missing required default model mapper");
+		}
+		if (source == null) {
+			return null;
+		}
+		if (this.identityScope != null) {
+			return this.identityScope.computeIfAbsent(source, type, s -> this.mappingEngine.map(s, type));
+		}
+		return this.mappingEngine.map(source, type);
 	}
 
 	public T useCustomModelMapper(final ModelMapper mapper) {
 		if (mapper == null) {
 			throw new IllegalStateException("Missing required default model mapper");
 		}
+		if (this.target != null) {
+			new ModelMapperEngine(mapper).map(this.getValue(), this.target, this.skipNulls);
+			return this.target;
+		}
 		return mapper.map(this.getValue(), clazz);
 	}
 
+	/**
+	 * Instance existante à mettre à jour (toEntity(D, E) / toData(E, D)), les convertisseurs doivent alors la retourner
+	 *
+	 * @return cible, vide pour une conversion vers une nouvelle instance
+	 */
+	public Optional<T> getTarget() {
+		return Optional.ofNullable(this.target);
+	}
+
+	/**
+	 * @return true si les propriétés nulles de la valeur ne doivent pas remplacer celles de la cible
+	 */
+	public boolean isSkipNulls() {
+		return this.skipNulls;
+	}
+
 	public Optional<Object> getParameter(String name) {
-		return Optional.ofNullable(this.parameters.getOrDefault(name, null));
+		if (null == name) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(this.parameters.get(name));
+	}
+
+	/**
+	 * Cache d'identité de l'appel en cours, à utiliser par les convertisseurs pour les objets partagés ou les graphes cycliques
+	 * (enregistrer la cible avec {@link IdentityScope#put(Object, Class, Object)} avant de convertir les enfants)
+	 *
+	 * @return scope, vide si le wrapper n'active pas le cache d'identité
+	 */
+	public Optional<IdentityScope> getIdentityScope() {
+		return Optional.ofNullable(this.identityScope);
 	}
 
 	public F getValue() {
@@ -0,0 +1,22 @@
+package com.grelu.mapper.core.cache;
+
+/**
+ * Statistiques d'un cache de conversion, instantané au moment de l'appel
+ *
+ * @param hits      résultats servis depuis le cache
+ * @param misses    conversions effectuées faute de résultat en cache
+ * @param evictions entrées retirées (taille maximale atteinte ou expiration)
+ * @param size      nombre d'entrées présentes
+ * @author Dorian GRELU
+ */
+public record CacheStats(long hits, long misses, long evictions, long size) {
+
+	/**
+	 * @return taux de succès entre 0 et 1, 0 si le cache n'a jamais été sollicité
+	 */
+	public double hitRate() {
+		long requests = this.hits + this.misses;
+		return requests == 0 ? 0 : (double) this.hits / requests;
+	}
+
+}
@@ -0,0 +1,277 @@
+package com.grelu.mapper.core.cache;
+
+import com.grelu.mapper.core.PureObject;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache des résultats de conversion d'un wrapper, pour les données de référence immuables (pays, devises...)
+ * <p>
+ * Les entrées sont indexées par identité de la source, ou par la clé extraite de la source, et par type cible.
+ * Le cache est borné en taille (éviction LRU, par segment au-delà de {@value #SEGMENTED_THRESHOLD} entrées) et optionnellement en durée de vie.
+ * Un résultat {@link PureObject} est toujours rendu sous forme de copie, y compris au premier appel :
+ * l'appelant ne peut donc pas modifier l'instance conservée.
+ * Les conversions ne sont pas faites sous verrou, deux appels simultanés sur une même source peuvent donc convertir deux fois.
+ *
+ * @param <S> type source
+ * @param <T> type converti
+ * @author Dorian GRELU
+ */
+public final class ConversionCache<S, T> {
+
+	private static final int SEGMENTED_THRESHOLD = 1024;
+
+	private static final int SEGMENTS = 16;
+
+	private record IdentityKey(Object source, Class<?> type) {
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof IdentityKey key && key.source == this.source && key.type == this.type;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(this.source) + this.type.hashCode();
+		}
+
+	}
+
+	private record ValueKey(Object key, Class<?> type) {
+	}
+
+	private record CachedValue(Object value, long expiresAt) {
+	}
+
+	private final Function<? super S, ?> keyExtractor;
+
+	private final long expireAfterWriteNanos;
+
+	private final LongSupplier ticker;
+
+	private final Segment[] segments;
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	private ConversionCache(Builder<S, T> builder) {
+		this.keyExtractor = builder.keyExtractor;
+		this.expireAfterWriteNanos = builder.expireAfterWrite == null ? 0 : builder.expireAfterWrite.toNanos();
+		this.ticker = builder.ticker;
+		int count = builder.maximumSize >= SEGMENTED_THRESHOLD ? SEGMENTS : 1;
+		this.segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			// Répartition du reste sur les premiers segments : la somme des capacités vaut la taille maximale
+			this.segments[i] = new Segment(builder.maximumSize / count + (i < builder.maximumSize % count ? 1 : 0), this.expireAfterWriteNanos != 0, this.evictions);
+		}
+	}
+
+	public static <S, T> Builder<S, T> builder() {
+		return new Builder<>();
+	}
+
+	/**
+	 * Retourne le résultat en cache, ou convertis la source et mémorise le résultat
+	 *
+	 * @param source    source à convertir (une source nulle n'est jamais mise en cache)
+	 * @param type      type cible
+	 * @param converter conversion
+	 * @return résultat, copié s'il s'agit d'un PureObject
+	 */
+	@SuppressWarnings("unchecked")
+	public T get(S source, Class<?> type, Function<? super S, ? extends T> converter) {
+		if (source == null) {
+			return converter.apply(null);
+		}
+		Object key = this.keyExtractor == null ? new IdentityKey(source, type) : new ValueKey(this.keyExtractor.apply(source), type);
+		Segment segment = this.segments[this.segments.length == 1 ? 0 : (spread(key.hashCode()) & (this.segments.length - 1))];
+
+		boolean expiring = this.expireAfterWriteNanos != 0;
+		T cached = (T) segment.get(key, expiring ? this.ticker.getAsLong() : 0);
+		if (cached != null) {
+			this.hits.increment();
+			return copy(cached);
+		}
+		this.misses.increment();
+		T converted = converter.apply(source);
+		if (converted != null) {
+			segment.put(key, converted, expiring ? this.ticker.getAsLong() + this.expireAfterWriteNanos : 0);
+		}
+		return copy(converted);
+	}
+
+	/**
+	 * Vide le cache, les statistiques sont conservées
+	 */
+	public void invalidateAll() {
+		for (Segment segment : this.segments) {
+			segment.clear();
+		}
+	}
+
+	public CacheStats stats() {
+		long size = 0;
+		for (Segment segment : this.segments) {
+			size += segment.size();
+		}
+		return new CacheStats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), size);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copy(T value) {
+		return value instanceof PureObject pureObject ? (T) pureObject.clone() : value;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Segment LRU : LinkedHashMap en ordre d'accès, protégée par un verrou (la lecture modifie l'ordre)
+	 * Sans durée de vie, l'échéance des entrées n'est jamais lue : le ticker peut renvoyer des valeurs négatives
+	 */
+	private static final class Segment {
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final LinkedHashMap<Object, CachedValue> entries;
+
+		private final boolean expiring;
+
+		private final LongAdder evictions;
+
+		Segment(int capacity, boolean expiring, LongAdder evictions) {
+			this.expiring = expiring;
+			this.evictions = evictions;
+			this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Object, CachedValue> eldest) {
+					boolean evict = this.size() > capacity;
+					if (evict) {
+						evictions.increment();
+					}
+					return evict;
+				}
+			};
+		}
+
+		Object get(Object key, long now) {
+			this.lock.lock();
+			try {
+				CachedValue entry = this.entries.get(key);
+				if (entry == null) {
+					return null;
+				}
+				if (this.expiring && entry.expiresAt() - now <= 0) {
+					this.entries.remove(key);
+					this.evictions.increment();
+					return null;
+				}
+				return entry.value();
+			} finally {
+				this.lock.unlock();
+			}
+		}
+
+		void put(Object key, Object value, long expiresAt) {
+			this.lock.lock();
+			try {
+				this.entries.put(key, new CachedValue(value, expiresAt));
+			} finally {
+				this.lock.unlock();
+			}
+		}
+
+		void clear() {
+			this.lock.lock();
+			try {
+				this.entries.clear();
+			} finally {
+				this.lock.unlock();
+			}
+		}
+
+		int size() {
+			this.lock.lock();
+			try {
+				return this.entries.size();
+			} finally {
+				this.lock.unlock();
+			}
+		}
+
+	}
+
+	public static final class Builder<S, T> {
+
+		private int maximumSize = 1000;
+
+		private Duration expireAfterWrite;
+
+		private Function<? super S, ?> keyExtractor;
+
+		private LongSupplier ticker = System::nanoTime;
+
+		private Builder() {
+		}
+
+		/**
+		 * @param maximumSize nombre maximal d'entrées, 1000 par défaut
+		 */
+		public Builder<S, T> maximumSize(int maximumSize) {
+			if (maximumSize <= 0) {
+				throw new IllegalArgumentException("Maximum size must be positive");
+			}
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		/**
+		 * @param expireAfterWrite durée de vie d'une entrée après sa création, aucune expiration par défaut
+		 */
+		public Builder<S, T> expireAfterWrite(Duration expireAfterWrite) {
+			if (expireAfterWrite == null || expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+				throw new IllegalArgumentException("Expiration must be positive");
+			}
+			this.expireAfterWrite = expireAfterWrite;
+			return this;
+		}
+
+		/**
+		 * Indexe les entrées par une clé extraite de la source (code pays...) au lieu de l'identité de l'instance
+		 * La clé doit définir equals / hashCode
+		 *
+		 * @param keyExtractor extraction de la clé
+		 */
+		public Builder<S, T> keyExtractor(Function<? super S, ?> keyExtractor) {
+			this.keyExtractor = keyExtractor;
+			return this;
+		}
+
+		/**
+		 * Source de temps en nanosecondes, {@link System#nanoTime()} par défaut
+		 */
+		public Builder<S, T> ticker(LongSupplier ticker) {
+			if (ticker == null) {
+				throw new IllegalArgumentException("Missing required ticker");
+			}
+			this.ticker = ticker;
+			return this;
+		}
+
+		public ConversionCache<S, T> build() {
+			return new ConversionCache<>(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,266 @@
+package com.grelu.mapper.core.engine;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Génération des accesseurs directs utilisés par le moteur compilé
+ * <p>
+ * Les getters, setters et constructeurs sont transformés en lambdas via {@link LambdaMetafactory}, appelées ensuite sans réflexion.
+ * Les champs (y compris privés) passent par des {@link MethodHandle}.
+ * Les méthodes pont (générées pour les supertypes génériques) sont ignorées : seule la méthode typée est retenue.
+ * Si la génération de la lambda est impossible (classe non accessible, autre chargeur de classes...), on se replie sur le MethodHandle.
+ *
+ * @author Dorian GRELU
+ */
+final class Accessors {
+
+	private static final Logger logger = LogManager.getLogger(Accessors.class);
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	record Reader(String name, Class<?> type, Type genericType, Function<Object, Object> accessor) {
+	}
+
+	record Writer(String name, Class<?> type, Type genericType, BiConsumer<Object, Object> accessor) {
+	}
+
+	private Accessors() {
+	}
+
+	/**
+	 * Propriétés lisibles d'un type, indexées par nom en minuscules
+	 * Un getter public est prioritaire sur le champ du même nom
+	 */
+	static Map<String, Reader> readers(Class<?> clazz) {
+		Map<String, Reader> readers = new LinkedHashMap<>();
+		for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+			for (Field field : current.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || readers.containsKey(key(field.getName()))) {
+					continue;
+				}
+				Function<Object, Object> getter = fieldGetter(field);
+				if (getter != null) {
+					readers.put(key(field.getName()), new Reader(field.getName(), field.getType(), field.getGenericType(), getter));
+				}
+			}
+		}
+
+		for (Method method : clazz.getMethods()) {
+			if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.getParameterCount() != 0 || method.getDeclaringClass() == Object.class) {
+				continue;
+			}
+			String name = propertyName(method);
+			if (name == null) {
+				continue;
+			}
+			Function<Object, Object> getter = methodGetter(method);
+			if (getter != null) {
+				readers.put(key(name), new Reader(name, method.getReturnType(), method.getGenericReturnType(), getter));
+			}
+		}
+		return readers;
+	}
+
+	/**
+	 * Propriétés modifiables d'un type, indexées par nom en minuscules
+	 * Un setter public est prioritaire sur le champ du même nom
+	 */
+	static Map<String, Writer> writers(Class<?> clazz) {
+		Map<String, Writer> writers = new LinkedHashMap<>();
+		for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+			for (Field field : current.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic() || writers.containsKey(key(field.getName()))) {
+					continue;
+				}
+				BiConsumer<Object, Object> setter = fieldSetter(field);
+				if (setter != null) {
+					writers.put(key(field.getName()), new Writer(field.getName(), field.getType(), field.getGenericType(), setter));
+				}
+			}
+		}
+
+		for (Method method : clazz.getMethods()) {
+			if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.getParameterCount() != 1
+					|| !method.getName().startsWith("set") || method.getName().length() == 3) {
+				continue;
+			}
+			BiConsumer<Object, Object> setter = methodSetter(method);
+			if (setter != null) {
+				String name = decapitalize(method.getName().substring(3));
+				writers.put(key(name), new Writer(name, method.getParameterTypes()[0], method.getGenericParameterTypes()[0], setter));
+			}
+		}
+		return writers;
+	}
+
+	@SuppressWarnings("unchecked")
+	static Supplier<Object> constructor(Class<?> clazz) {
+		if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())) {
+			throw new IllegalStateException("Cannot instantiate abstract type " + clazz);
+		}
+		try {
+			Constructor<?> constructor = clazz.getDeclaredConstructor();
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, LOOKUP);
+			MethodHandle handle = lookup.unreflectConstructor(constructor);
+			try {
+				return (Supplier<Object>) LambdaMetafactory.metafactory(lookup, "get",
+								MethodType.methodType(Supplier.class),
+								MethodType.methodType(Object.class),
+								handle,
+								MethodType.methodType(clazz))
+						.getTarget()
+						.invoke();
+			} catch (Throwable e) {
+				logger.debug("Fallback to method handle for {} constructor", clazz, e);
+				MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+				return () -> newInstance(generic);
+			}
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new IllegalStateException("Missing accessible no-arg constructor for " + clazz, e);
+		}
+	}
+
+	static String key(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	private static String propertyName(Method method) {
+		String name = method.getName();
+		if (name.startsWith("get") && name.length() > 3 && method.getReturnType() != void.class) {
+			return decapitalize(name.substring(3));
+		}
+		if (name.startsWith("is") && name.length() > 2 && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+			return decapitalize(name.substring(2));
+		}
+		return null;
+	}
+
+	private static String decapitalize(String name) {
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private static Function<Object, Object> fieldGetter(Field field) {
+		try {
+			MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP)
+					.unreflectGetter(field)
+					.asType(MethodType.methodType(Object.class, Object.class));
+			return o -> get(handle, o);
+		} catch (IllegalAccessException | RuntimeException e) { // Module non ouvert, etc.
+			logger.debug("Ignore inaccessible field {}", field, e);
+			return null;
+		}
+	}
+
+	private static BiConsumer<Object, Object> fieldSetter(Field field) {
+		try {
+			MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP)
+					.unreflectSetter(field)
+					.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			return (o, value) -> set(handle, o, value);
+		} catch (IllegalAccessException | RuntimeException e) {
+			logger.debug("Ignore inaccessible field {}", field, e);
+			return null;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Function<Object, Object> methodGetter(Method method) {
+		MethodHandles.Lookup lookup;
+		MethodHandle handle;
+		try {
+			lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP);
+			handle = lookup.unreflect(method);
+		} catch (IllegalAccessException | RuntimeException e) {
+			logger.debug("Ignore inaccessible getter {}", method, e);
+			return null;
+		}
+		try {
+			return (Function<Object, Object>) LambdaMetafactory.metafactory(lookup, "apply",
+							MethodType.methodType(Function.class),
+							MethodType.methodType(Object.class, Object.class),
+							handle,
+							MethodType.methodType(MethodType.methodType(method.getReturnType()).wrap().returnType(), method.getDeclaringClass()))
+					.getTarget()
+					.invoke();
+		} catch (Throwable e) {
+			logger.debug("Fallback to method handle for getter {}", method, e);
+			MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+			return o -> get(generic, o);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static BiConsumer<Object, Object> methodSetter(Method method) {
+		MethodHandles.Lookup lookup;
+		MethodHandle handle;
+		try {
+			lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP);
+			handle = lookup.unreflect(method);
+		} catch (IllegalAccessException | RuntimeException e) {
+			logger.debug("Ignore inaccessible setter {}", method, e);
+			return null;
+		}
+		try {
+			return (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(lookup, "accept",
+							MethodType.methodType(BiConsumer.class),
+							MethodType.methodType(void.class, Object.class, Object.class),
+							handle,
+							MethodType.methodType(void.class, method.getDeclaringClass(), MethodType.methodType(method.getParameterTypes()[0]).wrap().returnType()))
+					.getTarget()
+					.invoke();
+		} catch (Throwable e) {
+			logger.debug("Fallback to method handle for setter {}", method, e);
+			MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			return (o, value) -> set(generic, o, value);
+		}
+	}
+
+	private static Object get(MethodHandle handle, Object o) {
+		try {
+			return (Object) handle.invokeExact(o);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void set(MethodHandle handle, Object o, Object value) {
+		try {
+			handle.invokeExact(o, value);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Object newInstance(MethodHandle handle) {
+		try {
+			return (Object) handle.invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
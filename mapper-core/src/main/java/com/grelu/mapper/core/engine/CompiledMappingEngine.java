@@ -0,0 +1,175 @@
+package com.grelu.mapper.core.engine;
+
+import com.grelu.mapper.core.resolver.ModelMapperRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Moteur de conversion compilé
+ * <p>
+ * L'association des propriétés est calculée une seule fois par couple (source, cible) : mêmes noms (casse ignorée) et types compatibles.
+ * La conversion se résume ensuite à une instanciation et une série de lectures / écritures directes, sans réflexion.
+ * Seules les valeurs immuables (primitifs, chaînes, énumérations, nombres, java.time...) sont copiées directement.
+ * Les autres propriétés (objets imbriqués, collections, dates) sont converties vers leur type générique cible par le ModelMapper
+ * du profil par défaut du registre partagé : un {@code List<A>} devient un {@code List<B>}, rien n'est partagé avec la source.
+ * Les propriétés de types incompatibles (valeur immuable vers un autre type) sont ignorées.
+ *
+ * @author Dorian GRELU
+ */
+final class CompiledMappingEngine implements MappingEngine {
+
+	private static final Logger logger = LogManager.getLogger(CompiledMappingEngine.class);
+
+	static final CompiledMappingEngine INSTANCE = new CompiledMappingEngine();
+
+	/**
+	 * Indexé par type source puis par type cible
+	 * La ClassValue ne retient pas la classe source, mais sa map retient fortement les classes cibles et les accesseurs compilés :
+	 * le chargeur d'une classe cible reste référencé tant que la classe source est chargée
+	 */
+	private final ClassValue<Map<Class<?>, CompiledMapping>> mappings = new ClassValue<>() {
+		@Override
+		protected Map<Class<?>, CompiledMapping> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private CompiledMappingEngine() {
+	}
+
+	@Override
+	public <T> T map(Object source, Class<T> clazz) {
+		if (source == null) {
+			throw new IllegalArgumentException("source cannot be null");
+		}
+		return clazz.cast(this.mapping(source, clazz).map(source));
+	}
+
+	@Override
+	public void map(Object source, Object target, boolean skipNulls) {
+		if (source == null || target == null) {
+			throw new IllegalArgumentException("source and target cannot be null");
+		}
+		this.mapping(source, target.getClass()).copy(source, target, skipNulls);
+	}
+
+	@Override
+	public List<String> prepare(Class<?> source, Class<?> target) {
+		return this.mappings.get(source).computeIfAbsent(target, clazz -> compile(source, clazz)).unmapped;
+	}
+
+	private CompiledMapping mapping(Object source, Class<?> clazz) {
+		Class<?> sourceClazz = source.getClass();
+		return this.mappings.get(sourceClazz).computeIfAbsent(clazz, target -> compile(sourceClazz, target));
+	}
+
+	private static CompiledMapping compile(Class<?> source, Class<?> target) {
+		logger.trace("Compile mapping from {} to {}", source, target);
+		Map<String, Accessors.Reader> readers = Accessors.readers(source);
+		List<Function<Object, Object>> getters = new ArrayList<>();
+		List<BiConsumer<Object, Object>> setters = new ArrayList<>();
+		List<Boolean> primitives = new ArrayList<>();
+		List<String> unmapped = new ArrayList<>();
+
+		Accessors.writers(target).forEach((key, writer) -> {
+			Accessors.Reader reader = readers.get(key);
+			BiConsumer<Object, Object> setter = reader == null ? null : setter(reader, writer);
+			if (setter == null) {
+				unmapped.add(writer.name());
+				return;
+			}
+			getters.add(reader.accessor());
+			setters.add(setter);
+			primitives.add(writer.type().isPrimitive());
+		});
+
+		boolean[] primitiveTargets = new boolean[primitives.size()];
+		for (int i = 0; i < primitiveTargets.length; i++) {
+			primitiveTargets[i] = primitives.get(i);
+		}
+		return new CompiledMapping(Accessors.constructor(target), getters, setters, primitiveTargets, List.copyOf(unmapped));
+	}
+
+	/**
+	 * Copie directe pour une valeur immuable de type compatible, conversion profonde pour les autres références,
+	 * null si la propriété ne peut pas être convertie
+	 */
+	private static BiConsumer<Object, Object> setter(Accessors.Reader reader, Accessors.Writer writer) {
+		boolean immutableTarget = isImmutable(writer.type());
+		if (immutableTarget || isImmutable(reader.type())) {
+			return immutableTarget && wrap(writer.type()).isAssignableFrom(wrap(reader.type())) ? writer.accessor() : null;
+		}
+		// Type générique cible (List<B>...), le type brut si celui-ci dépend d'une variable de type
+		Type targetType = writer.genericType() instanceof Class<?> || writer.genericType() instanceof ParameterizedType ? writer.genericType() : writer.type();
+		BiConsumer<Object, Object> accessor = writer.accessor();
+		return (target, value) -> accessor.accept(target, value == null ? null : ModelMapperRegistry.shared().get().map(value, targetType));
+	}
+
+	private static boolean isImmutable(Class<?> clazz) {
+		return clazz.isPrimitive() || clazz.isEnum() || clazz == String.class || clazz == Character.class || clazz == Boolean.class
+				|| clazz == UUID.class || (Number.class.isAssignableFrom(clazz) && clazz.getName().startsWith("java.lang."))
+				|| clazz == BigDecimal.class || clazz == BigInteger.class
+				|| (clazz.getName().startsWith("java.time.") && !clazz.isInterface());
+	}
+
+	private static Class<?> wrap(Class<?> clazz) {
+		return clazz.isPrimitive() ? MethodType.methodType(clazz).wrap().returnType() : clazz;
+	}
+
+	private static final class CompiledMapping {
+
+		private final Supplier<Object> constructor;
+
+		private final Function<Object, Object>[] getters;
+
+		private final BiConsumer<Object, Object>[] setters;
+
+		private final boolean[] primitiveTargets;
+
+		private final List<String> unmapped;
+
+		@SuppressWarnings("unchecked")
+		private CompiledMapping(Supplier<Object> constructor,
+								List<Function<Object, Object>> getters,
+								List<BiConsumer<Object, Object>> setters,
+								boolean[] primitiveTargets,
+								List<String> unmapped) {
+			this.constructor = constructor;
+			this.getters = (Function<Object, Object>[]) getters.toArray(new Function<?, ?>[0]);
+			this.setters = (BiConsumer<Object, Object>[]) setters.toArray(new BiConsumer<?, ?>[0]);
+			this.primitiveTargets = primitiveTargets;
+			this.unmapped = unmapped;
+		}
+
+		private Object map(Object source) {
+			Object target = this.constructor.get();
+			this.copy(source, target, false);
+			return target;
+		}
+
+		private void copy(Object source, Object target, boolean skipNulls) {
+			for (int i = 0; i < this.getters.length; i++) {
+				Object value = this.getters[i].apply(source);
+				if (value != null || !(skipNulls || this.primitiveTargets[i])) { // Un null ne peut pas être affecté à un primitif
+					this.setters[i].accept(target, value);
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.grelu.mapper.core.engine;
+
+import org.modelmapper.ModelMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moteur de conversion utilisé lorsqu'aucun convertisseur n'est défini sur le wrapper
+ *
+ * @author Dorian GRELU
+ */
+public interface MappingEngine {
+
+	/**
+	 * Convertis un objet vers le type cible
+	 *
+	 * @param source objet à convertir
+	 * @param clazz  type cible
+	 * @return nouvelle instance du type cible
+	 */
+	<T> T map(Object source, Class<T> clazz);
+
+	/**
+	 * Convertis un lot d'objets vers le type cible
+	 * Par défaut chaque objet est converti séparément, un moteur peut partager les sous-objets communs entre les éléments du lot
+	 *
+	 * @param sources objets à convertir
+	 * @param clazz   type cible
+	 * @return nouvelles instances du type cible, dans l'ordre des sources
+	 */
+	default <T> List<T> mapAll(List<?> sources, Class<T> clazz) {
+		List<T> result = new ArrayList<>(sources.size());
+		for (Object source : sources) {
+			result.add(this.map(source, clazz));
+		}
+		return result;
+	}
+
+	/**
+	 * Copie les propriétés d'un objet dans une instance existante, sans créer de nouvelle instance
+	 *
+	 * @param source    objet à convertir
+	 * @param target    instance à mettre à jour
+	 * @param skipNulls les propriétés nulles de la source ne remplacent pas celles de la cible
+	 */
+	void map(Object source, Object target, boolean skipNulls);
+
+	/**
+	 * Prépare la conversion d'un couple de types (introspection, compilation) pour ne pas en payer le coût au premier appel
+	 *
+	 * @param source type source
+	 * @param target type cible
+	 * @return propriétés de la cible sans correspondance dans la source
+	 */
+	default List<String> prepare(Class<?> source, Class<?> target) {
+		return List.of();
+	}
+
+	/**
+	 * Moteur historique, basé sur ModelMapper (réflexion, stratégie définie par la configuration du mapper)
+	 *
+	 * @param modelMapper mapper
+	 * @return moteur
+	 */
+	static MappingEngine modelMapper(ModelMapper modelMapper) {
+		return new ModelMapperEngine(modelMapper);
+	}
+
+	/**
+	 * Moteur compilé : les propriétés sont associées une fois par couple (source, cible), puis copiées par accesseurs directs
+	 *
+	 * @return moteur partagé
+	 */
+	static MappingEngine compiled() {
+		return CompiledMappingEngine.INSTANCE;
+	}
+
+}
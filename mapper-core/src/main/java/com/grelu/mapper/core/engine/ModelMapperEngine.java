@@ -0,0 +1,107 @@
+package com.grelu.mapper.core.engine;
+
+import com.grelu.mapper.core.helper.IdentityScope;
+import org.modelmapper.Conditions;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.TypeMap;
+import org.modelmapper.spi.PropertyInfo;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Moteur de conversion délégant à un ModelMapper
+ *
+ * @author Dorian GRELU
+ */
+public final class ModelMapperEngine implements MappingEngine {
+
+	private static final String SKIP_NULLS = "skip-nulls";
+
+	private final ModelMapper modelMapper;
+
+	public ModelMapperEngine(ModelMapper modelMapper) {
+		if (modelMapper == null) {
+			throw new IllegalStateException("Missing required default model mapper");
+		}
+		this.modelMapper = modelMapper;
+	}
+
+	@Override
+	public <T> T map(Object source, Class<T> clazz) {
+		return this.modelMapper.map(source, clazz);
+	}
+
+	/**
+	 * Le lot est converti en un seul appel, avec un scope d'identité propre à l'appel (voir {@link ScopedProvider}) :
+	 * les sous-objets communs à plusieurs éléments sont partagés, les cycles sont résolus entre les éléments
+	 */
+	@Override
+	public <T> List<T> mapAll(List<?> sources, Class<T> clazz) {
+		ScopedProvider.install(this.modelMapper);
+		return ScopedProvider.within(new IdentityScope(), () -> this.modelMapper.map(sources, new ListType(clazz)));
+	}
+
+	@Override
+	public void map(Object source, Object target, boolean skipNulls) {
+		if (!skipNulls) {
+			this.modelMapper.map(source, target);
+			return;
+		}
+		this.modelMapper.map(source, target, skipNullsTypeMap(this.modelMapper, source.getClass(), target.getClass()).getName());
+	}
+
+	/**
+	 * Crée (si besoin) et valide le TypeMap implicite du couple, celui utilisé ensuite par {@link #map(Object, Class)}
+	 */
+	@Override
+	public List<String> prepare(Class<?> source, Class<?> target) {
+		return this.modelMapper.typeMap(source, target).getUnmappedProperties().stream().map(PropertyInfo::getName).toList();
+	}
+
+	/**
+	 * TypeMap nommé portant la condition "non null", créé une seule fois par couple sur le mapper
+	 * Le mapper peut être partagé entre plusieurs moteurs : la création est synchronisée sur celui-ci
+	 */
+	static TypeMap<?, ?> skipNullsTypeMap(ModelMapper modelMapper, Class<?> source, Class<?> target) {
+		TypeMap<?, ?> typeMap = modelMapper.getTypeMap(source, target, SKIP_NULLS);
+		if (typeMap != null) {
+			return typeMap;
+		}
+		synchronized (modelMapper) {
+			typeMap = modelMapper.getTypeMap(source, target, SKIP_NULLS);
+			if (typeMap == null) {
+				typeMap = modelMapper.createTypeMap(source, target, SKIP_NULLS).setPropertyCondition(Conditions.isNotNull());
+			}
+			return typeMap;
+		}
+	}
+
+	/**
+	 * Type générique List&lt;T&gt; construit à l'exécution, ModelMapper en déduit le type des éléments
+	 */
+	private record ListType(Type element) implements ParameterizedType {
+
+		@Override
+		public Type[] getActualTypeArguments() {
+			return new Type[]{this.element};
+		}
+
+		@Override
+		public Type getRawType() {
+			return List.class;
+		}
+
+		@Override
+		public Type getOwnerType() {
+			return null;
+		}
+
+	}
+
+	public ModelMapper getModelMapper() {
+		return this.modelMapper;
+	}
+
+}
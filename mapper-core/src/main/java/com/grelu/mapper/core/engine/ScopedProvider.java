@@ -0,0 +1,112 @@
+package com.grelu.mapper.core.engine;
+
+import com.grelu.mapper.core.helper.IdentityScope;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.Provider;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Provider ModelMapper partageant les sous-objets d'une conversion par lot
+ * <p>
+ * ModelMapper crée les objets intermédiaires (client d'une commande) propriété par propriété, sans les partager entre les éléments.
+ * Pendant {@link #within(IdentityScope, Supplier)}, chaque instance demandée est cherchée dans le scope du thread courant :
+ * une même source convertie vers un même type retourne la même instance. Hors d'un scope, le provider d'origine est appelé.
+ * Seules les classes applicatives instanciables sans argument sont partagées, les types du JDK (valeurs, collections) ne le sont pas.
+ *
+ * @author Dorian GRELU
+ */
+final class ScopedProvider implements Provider<Object> {
+
+	private static final ThreadLocal<IdentityScope> SCOPE = new ThreadLocal<>();
+
+	private static final ClassValue<Optional<Constructor<?>>> CONSTRUCTORS = new ClassValue<>() {
+		@Override
+		protected Optional<Constructor<?>> computeValue(Class<?> type) {
+			return Optional.ofNullable(constructor(type));
+		}
+	};
+
+	private final Provider<?> delegate;
+
+	private ScopedProvider(Provider<?> delegate) {
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Installe (une seule fois) le provider sur le mapper, le provider déjà configuré reste appelé pour les instances non partagées
+	 * Le mapper peut être partagé entre plusieurs moteurs : l'installation est synchronisée sur celui-ci
+	 */
+	static void install(ModelMapper modelMapper) {
+		if (modelMapper.getConfiguration().getProvider() instanceof ScopedProvider) {
+			return;
+		}
+		synchronized (modelMapper) {
+			Provider<?> provider = modelMapper.getConfiguration().getProvider();
+			if (!(provider instanceof ScopedProvider)) {
+				modelMapper.getConfiguration().setProvider(new ScopedProvider(provider));
+			}
+		}
+	}
+
+	/**
+	 * Exécute la conversion avec le scope associé au thread courant, le scope précédent est restauré ensuite
+	 */
+	static <T> T within(IdentityScope scope, Supplier<T> conversion) {
+		IdentityScope previous = SCOPE.get();
+		SCOPE.set(scope);
+		try {
+			return conversion.get();
+		} finally {
+			if (previous == null) {
+				SCOPE.remove();
+			} else {
+				SCOPE.set(previous);
+			}
+		}
+	}
+
+	@Override
+	public Object get(ProvisionRequest<Object> request) {
+		IdentityScope scope = SCOPE.get();
+		Class<Object> type = request.getRequestedType();
+		if (scope == null || request.getSource() == null || CONSTRUCTORS.get(type).isEmpty()) {
+			return this.delegate(request);
+		}
+		return scope.computeIfAbsent(request.getSource(), type, source -> {
+			Object provided = this.delegate(request);
+			return provided != null ? provided : instantiate(CONSTRUCTORS.get(type).get());
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object delegate(ProvisionRequest<Object> request) {
+		return this.delegate == null ? null : ((Provider<Object>) this.delegate).get(request);
+	}
+
+	private static Object instantiate(Constructor<?> constructor) {
+		try {
+			return constructor.newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Unable to instantiate " + constructor.getDeclaringClass().getName(), e);
+		}
+	}
+
+	private static Constructor<?> constructor(Class<?> type) {
+		if (type.isPrimitive() || type.isArray() || type.isEnum() || type.isInterface() || Modifier.isAbstract(type.getModifiers())
+				|| type.getName().startsWith("java.") || type.getName().startsWith("javax.")) {
+			return null;
+		}
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return constructor;
+		} catch (NoSuchMethodException | RuntimeException e) {
+			return null;
+		}
+	}
+
+}
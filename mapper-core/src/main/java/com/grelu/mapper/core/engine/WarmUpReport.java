@@ -0,0 +1,105 @@
+package com.grelu.mapper.core.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rapport de préchauffage des moteurs de conversion
+ * <p>
+ * Un résultat par couple (source, cible) préparé : durée, propriétés cibles sans correspondance et erreur éventuelle.
+ * Les propriétés sans correspondance sont informatives (correspondance LOOSE), seules les erreurs font échouer le préchauffage.
+ *
+ * @author Dorian GRELU
+ */
+public final class WarmUpReport {
+
+	/**
+	 * Préparation d'un couple
+	 *
+	 * @param wrapper            nom du wrapper
+	 * @param source             type source
+	 * @param target             type cible
+	 * @param durationNanos      durée de préparation
+	 * @param unmappedProperties propriétés de la cible sans correspondance dans la source
+	 * @param failure            erreur de préparation, null en cas de succès
+	 */
+	public record Result(String wrapper, Class<?> source, Class<?> target, long durationNanos, List<String> unmappedProperties, RuntimeException failure) {
+
+		public boolean isFailed() {
+			return this.failure != null;
+		}
+
+	}
+
+	private static final WarmUpReport EMPTY = new WarmUpReport(List.of(), 0);
+
+	private final List<Result> results;
+
+	private final long durationNanos;
+
+	private WarmUpReport(List<Result> results, long durationNanos) {
+		this.results = results;
+		this.durationNanos = durationNanos;
+	}
+
+	public static WarmUpReport empty() {
+		return EMPTY;
+	}
+
+	public static WarmUpReport of(List<Result> results, long durationNanos) {
+		return new WarmUpReport(List.copyOf(results), durationNanos);
+	}
+
+	/**
+	 * Regroupe les rapports de plusieurs wrappers
+	 *
+	 * @param reports       rapports
+	 * @param durationNanos durée totale (les wrappers peuvent être préparés en parallèle)
+	 */
+	public static WarmUpReport merge(Collection<WarmUpReport> reports, long durationNanos) {
+		List<Result> results = new ArrayList<>();
+		for (WarmUpReport report : reports) {
+			results.addAll(report.results);
+		}
+		return new WarmUpReport(List.copyOf(results), durationNanos);
+	}
+
+	public List<Result> getResults() {
+		return this.results;
+	}
+
+	public List<Result> getFailures() {
+		return this.results.stream().filter(Result::isFailed).toList();
+	}
+
+	public boolean hasFailures() {
+		return this.results.stream().anyMatch(Result::isFailed);
+	}
+
+	public long getDurationNanos() {
+		return this.durationNanos;
+	}
+
+	/**
+	 * @throws IllegalStateException si au moins un couple n'a pas pu être préparé
+	 */
+	public WarmUpReport throwIfFailed() {
+		List<Result> failures = this.getFailures();
+		if (!failures.isEmpty()) {
+			IllegalStateException exception = new IllegalStateException("Warm-up failed for " + failures.size() + " type pair(s), first: "
+					+ failures.get(0).source().getName() + " -> " + failures.get(0).target().getName(), failures.get(0).failure());
+			failures.stream().skip(1).forEach(failure -> exception.addSuppressed(failure.failure()));
+			throw exception;
+		}
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return this.results.size() + " type pair(s) prepared in " + TimeUnit.NANOSECONDS.toMillis(this.durationNanos) + " ms, "
+				+ this.getFailures().size() + " failure(s)";
+	}
+
+}
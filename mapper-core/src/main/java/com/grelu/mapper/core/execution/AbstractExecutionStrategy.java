@@ -0,0 +1,63 @@
+package com.grelu.mapper.core.execution;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Gestion commune du seuil : les petites listes sont traitées dans le thread appelant
+ * Les résultats sont écrits dans un tableau dimensionné à la taille de la liste, les erreurs sont regroupées par {@link BatchFailures}
+ *
+ * @author Dorian GRELU
+ */
+abstract class AbstractExecutionStrategy implements ExecutionStrategy {
+
+	private final int threshold;
+
+	protected AbstractExecutionStrategy(int threshold) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("Threshold must be positive");
+		}
+		this.threshold = threshold;
+	}
+
+	@Override
+	public final <F, T> List<T> map(List<F> source, Function<? super F, ? extends T> function) {
+		if (source.size() < this.threshold) {
+			return inline(source, function);
+		}
+		return this.parallelMap(source, function);
+	}
+
+	protected abstract <F, T> List<T> parallelMap(List<F> source, Function<? super F, ? extends T> function);
+
+	static <F, T> List<T> inline(List<F> source, Function<? super F, ? extends T> function) {
+		Object[] result = new Object[source.size()];
+		BatchFailures failures = new BatchFailures();
+		int index = 0;
+		for (F f : source) { // Parcours par itérateur : pas d'accès indexé sur une LinkedList
+			apply(f, function, result, index++, failures);
+		}
+		return complete(result, failures);
+	}
+
+	static <F, T> void apply(F f, Function<? super F, ? extends T> function, Object[] result, int index, BatchFailures failures) {
+		try {
+			result[index] = function.apply(f);
+		} catch (RuntimeException e) {
+			failures.add(index, e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static <T> List<T> complete(Object[] result, BatchFailures failures) {
+		failures.throwIfAny(result);
+		return (List<T>) Collections.unmodifiableList(Arrays.asList(result));
+	}
+
+	public int getThreshold() {
+		return this.threshold;
+	}
+
+}
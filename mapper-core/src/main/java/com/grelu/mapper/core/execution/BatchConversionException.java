@@ -0,0 +1,78 @@
+package com.grelu.mapper.core.execution;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Erreurs d'un traitement par lot : tous les éléments sont traités, les erreurs sont regroupées avec leur position
+ * <p>
+ * La cause est l'erreur du premier élément en échec, les suivantes sont disponibles via {@link #getFailures()}.
+ * Les éléments convertis avec succès restent disponibles via {@link #getPartialResults()}, voir {@link BatchResult}.
+ *
+ * @author Dorian GRELU
+ */
+public class BatchConversionException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Erreur d'un élément
+	 *
+	 * @param index position de l'élément dans la liste traitée
+	 * @param cause erreur levée
+	 */
+	public record Failure(int index, RuntimeException cause) {
+	}
+
+	private final transient List<Failure> failures;
+
+	private final transient List<?> partialResults;
+
+	/**
+	 * @param failures       erreurs, triées par position
+	 * @param partialResults résultats de chaque position, null pour les éléments en échec
+	 */
+	public BatchConversionException(List<Failure> failures, List<?> partialResults) {
+		super(failures.size() + " of " + partialResults.size() + " conversions failed at indices " + indices(failures), failures.get(0).cause());
+		this.failures = List.copyOf(failures);
+		this.partialResults = Collections.unmodifiableList(partialResults);
+	}
+
+	/**
+	 * @return erreurs triées par position
+	 */
+	public List<Failure> getFailures() {
+		return this.failures;
+	}
+
+	/**
+	 * @return positions des éléments en échec, triées
+	 */
+	public int[] getFailedIndices() {
+		return this.failures.stream().mapToInt(Failure::index).toArray();
+	}
+
+	/**
+	 * @return taille de la liste traitée
+	 */
+	public int getSize() {
+		return this.partialResults.size();
+	}
+
+	/**
+	 * @return résultats de chaque position de la liste traitée, null pour les éléments en échec
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> getPartialResults() {
+		return (List<T>) this.partialResults;
+	}
+
+	private static String indices(List<Failure> failures) {
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < failures.size() && i < 10; i++) {
+			builder.append(i > 0 ? ", " : "").append(failures.get(i).index());
+		}
+		return builder.append(failures.size() > 10 ? ", ...]" : "]").toString();
+	}
+
+}
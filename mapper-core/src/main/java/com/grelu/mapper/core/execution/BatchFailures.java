@@ -0,0 +1,31 @@
+package com.grelu.mapper.core.execution;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Collecte des erreurs d'un traitement par lot, partagée entre les tâches d'un même appel
+ *
+ * @author Dorian GRELU
+ */
+final class BatchFailures {
+
+	private List<BatchConversionException.Failure> failures;
+
+	synchronized void add(int index, RuntimeException cause) {
+		if (this.failures == null) {
+			this.failures = new ArrayList<>();
+		}
+		this.failures.add(new BatchConversionException.Failure(index, cause));
+	}
+
+	synchronized void throwIfAny(Object[] results) {
+		if (this.failures != null) {
+			this.failures.sort(Comparator.comparingInt(BatchConversionException.Failure::index));
+			throw new BatchConversionException(this.failures, Arrays.asList(results));
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.grelu.mapper.core.execution;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Résultat d'une conversion par lot en succès partiel
+ * <p>
+ * Contient le résultat de chaque position de la liste source (null pour les éléments en échec) et les erreurs par position :
+ * un import volumineux est traité en une seule passe, seuls les éléments en échec sont à reprendre.
+ *
+ * @param <T> type converti
+ * @author Dorian GRELU
+ */
+public final class BatchResult<T> {
+
+	private final List<T> results;
+
+	private final List<BatchConversionException.Failure> failures;
+
+	private BatchResult(List<T> results, List<BatchConversionException.Failure> failures) {
+		this.results = results;
+		this.failures = failures;
+	}
+
+	/**
+	 * @param results résultats d'un lot sans erreur
+	 */
+	public static <T> BatchResult<T> of(List<T> results) {
+		return new BatchResult<>(Collections.unmodifiableList(results), List.of());
+	}
+
+	/**
+	 * @param exception erreurs d'un lot, avec ses résultats partiels
+	 */
+	public static <T> BatchResult<T> of(BatchConversionException exception) {
+		return new BatchResult<>(exception.getPartialResults(), exception.getFailures());
+	}
+
+	/**
+	 * @return résultats de chaque position de la liste source, null pour les éléments en échec
+	 */
+	public List<T> getResults() {
+		return this.results;
+	}
+
+	/**
+	 * @return éléments convertis avec succès, dans l'ordre de la liste source
+	 */
+	public List<T> getSucceeded() {
+		if (this.failures.isEmpty()) {
+			return this.results;
+		}
+		List<T> succeeded = new ArrayList<>(this.results.size() - this.failures.size());
+		int next = 0;
+		for (BatchConversionException.Failure failure : this.failures) {
+			succeeded.addAll(this.results.subList(next, failure.index()));
+			next = failure.index() + 1;
+		}
+		succeeded.addAll(this.results.subList(next, this.results.size()));
+		return Collections.unmodifiableList(succeeded);
+	}
+
+	/**
+	 * @return erreurs triées par position
+	 */
+	public List<BatchConversionException.Failure> getFailures() {
+		return this.failures;
+	}
+
+	/**
+	 * @return positions des éléments en échec, triées
+	 */
+	public int[] getFailedIndices() {
+		return this.failures.stream().mapToInt(BatchConversionException.Failure::index).toArray();
+	}
+
+	public boolean hasFailures() {
+		return !this.failures.isEmpty();
+	}
+
+	/**
+	 * @return résultats si aucun élément n'est en échec
+	 * @throws BatchConversionException sinon
+	 */
+	public List<T> orElseThrow() {
+		if (this.hasFailures()) {
+			throw new BatchConversionException(this.failures, this.results);
+		}
+		return this.results;
+	}
+
+}
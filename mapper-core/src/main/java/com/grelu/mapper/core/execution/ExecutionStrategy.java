@@ -0,0 +1,113 @@
+package com.grelu.mapper.core.execution;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Stratégie d'exécution des conversions par lot et asynchrones
+ * <p>
+ * Permets de ne plus dépendre du ForkJoinPool commun (parallelStream, supplyAsync), partagé avec le reste de l'application.
+ * En dessous du seuil, les listes sont traitées directement dans le thread appelant.
+ * Une stratégie créant son propre pool ({@link #forkJoin(int)}, {@link #virtualThreads()}) l'arrête à sa fermeture,
+ * les pools partagés ou fournis par l'appelant ne sont jamais arrêtés.
+ *
+ * @author Dorian GRELU
+ */
+public interface ExecutionStrategy extends AutoCloseable {
+
+	/**
+	 * Taille de liste en dessous de laquelle le traitement se fait dans le thread appelant
+	 */
+	int DEFAULT_THRESHOLD = 32;
+
+	/**
+	 * Applique une fonction sur chaque élément, l'ordre de la liste est conservé
+	 * Une erreur n'interrompt pas le traitement : tous les éléments sont traités puis les erreurs sont levées ensemble
+	 *
+	 * @param source   éléments à traiter
+	 * @param function traitement
+	 * @return liste non modifiable des résultats
+	 * @throws BatchConversionException si au moins un élément est en erreur, avec la position de chaque élément en échec
+	 */
+	<F, T> List<T> map(List<F> source, Function<? super F, ? extends T> function);
+
+	/**
+	 * Exécute un traitement de manière asynchrone
+	 *
+	 * @param supplier traitement
+	 * @return résultat à venir
+	 */
+	default <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+		return CompletableFuture.supplyAsync(supplier, this.executor());
+	}
+
+	/**
+	 * @return exécuteur utilisé pour les traitements asynchrones
+	 */
+	Executor executor();
+
+	/**
+	 * Arrête le pool créé par la stratégie, sans effet pour un pool partagé ou fourni par l'appelant
+	 * Les traitements déjà soumis sont terminés
+	 */
+	@Override
+	default void close() {
+	}
+
+	/**
+	 * Tout est exécuté dans le thread appelant
+	 */
+	static ExecutionStrategy sequential() {
+		return SequentialExecutionStrategy.INSTANCE;
+	}
+
+	/**
+	 * Comportement historique : ForkJoinPool commun
+	 */
+	static ExecutionStrategy commonPool() {
+		return ForkJoinExecutionStrategy.COMMON;
+	}
+
+	static ExecutionStrategy commonPool(int threshold) {
+		return new ForkJoinExecutionStrategy(ForkJoinPool.commonPool(), threshold, false);
+	}
+
+	/**
+	 * ForkJoinPool dédié et borné, arrêté par {@link #close()}
+	 *
+	 * @param parallelism nombre maximum de threads
+	 */
+	static ExecutionStrategy forkJoin(int parallelism) {
+		return forkJoin(parallelism, DEFAULT_THRESHOLD);
+	}
+
+	static ExecutionStrategy forkJoin(int parallelism, int threshold) {
+		return new ForkJoinExecutionStrategy(new ForkJoinPool(parallelism), threshold, true);
+	}
+
+	/**
+	 * Un thread virtuel par élément (nécessite un runtime Java 21+), l'exécuteur est arrêté par {@link #close()}
+	 */
+	static ExecutionStrategy virtualThreads() {
+		return virtualThreads(DEFAULT_THRESHOLD);
+	}
+
+	static ExecutionStrategy virtualThreads(int threshold) {
+		return new ExecutorExecutionStrategy(ExecutorExecutionStrategy.newVirtualThreadPerTaskExecutor(), threshold, true);
+	}
+
+	/**
+	 * Une tâche par élément sur un exécuteur fourni, qui reste à la charge de l'appelant
+	 *
+	 * @param executor  exécuteur
+	 * @param threshold seuil de traitement dans le thread appelant
+	 */
+	static ExecutionStrategy executor(Executor executor, int threshold) {
+		return new ExecutorExecutionStrategy(executor, threshold, false);
+	}
+
+}
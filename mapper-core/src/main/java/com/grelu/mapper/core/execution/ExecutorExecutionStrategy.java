@@ -0,0 +1,64 @@
+package com.grelu.mapper.core.execution;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+final class ExecutorExecutionStrategy extends AbstractExecutionStrategy {
+
+	private final Executor executor;
+
+	/**
+	 * Exécuteur créé par la stratégie, arrêté à sa fermeture
+	 */
+	private final boolean owned;
+
+	ExecutorExecutionStrategy(Executor executor, int threshold, boolean owned) {
+		super(threshold);
+		this.executor = executor;
+		this.owned = owned;
+	}
+
+	@Override
+	protected <F, T> List<T> parallelMap(List<F> source, Function<? super F, ? extends T> function) {
+		Object[] result = new Object[source.size()];
+		BatchFailures failures = new BatchFailures();
+		CompletableFuture<?>[] futures = new CompletableFuture<?>[result.length];
+		int index = 0;
+		for (F f : source) {
+			int position = index++;
+			futures[position] = CompletableFuture.runAsync(() -> apply(f, function, result, position, failures), this.executor);
+		}
+		CompletableFuture.allOf(futures).join(); // Les erreurs de conversion sont collectées, join ne peut pas échouer
+		return complete(result, failures);
+	}
+
+	@Override
+	public Executor executor() {
+		return this.executor;
+	}
+
+	@Override
+	public void close() {
+		if (this.owned && this.executor instanceof ExecutorService service) {
+			service.shutdown();
+		}
+	}
+
+	/**
+	 * Résolu par réflexion, la compilation se fait en Java 16
+	 */
+	static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (NoSuchMethodException e) {
+			throw new UnsupportedOperationException("Virtual threads require a Java 21+ runtime", e);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Unable to create virtual thread executor", e);
+		}
+	}
+
+}
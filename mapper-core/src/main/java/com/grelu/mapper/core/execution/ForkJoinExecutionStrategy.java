@@ -0,0 +1,112 @@
+package com.grelu.mapper.core.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Découpe la liste en tranches contiguës traitées par le pool
+ * Une tranche fait au moins la taille du seuil (en dessous, le découpage coûte plus qu'il ne rapporte),
+ * et environ 4 tranches par thread pour équilibrer la charge.
+ */
+final class ForkJoinExecutionStrategy extends AbstractExecutionStrategy {
+
+	static final ForkJoinExecutionStrategy COMMON = new ForkJoinExecutionStrategy(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, false);
+
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private final ForkJoinPool pool;
+
+	/**
+	 * Pool créé par la stratégie, arrêté à sa fermeture
+	 */
+	private final boolean owned;
+
+	ForkJoinExecutionStrategy(ForkJoinPool pool, int threshold, boolean owned) {
+		super(threshold);
+		this.pool = pool;
+		this.owned = owned;
+	}
+
+	@Override
+	protected <F, T> List<T> parallelMap(List<F> source, Function<? super F, ? extends T> function) {
+		List<F> input = source instanceof RandomAccess ? source : new ArrayList<>(source);
+		int size = input.size();
+		int chunkSize = Math.max(Math.max(1, this.getThreshold()), ceilDiv(size, this.pool.getParallelism() * CHUNKS_PER_THREAD));
+		Object[] result = new Object[size];
+		BatchFailures failures = new BatchFailures();
+
+		ChunkTask<F, T> task = new ChunkTask<>(input, function, result, failures, 0, size, chunkSize);
+		if (ForkJoinTask.getPool() == this.pool) { // Déjà dans le pool, les sous-tâches y sont ajoutées directement
+			task.invoke();
+		} else {
+			this.pool.invoke(task);
+		}
+		return complete(result, failures);
+	}
+
+	@Override
+	public Executor executor() {
+		return this.pool;
+	}
+
+	@Override
+	public void close() {
+		if (this.owned) {
+			this.pool.shutdown();
+		}
+	}
+
+	private static int ceilDiv(int value, int divisor) {
+		return (value + divisor - 1) / divisor;
+	}
+
+	private static final class ChunkTask<F, T> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<F> source;
+
+		private final Function<? super F, ? extends T> function;
+
+		private final Object[] result;
+
+		private final BatchFailures failures;
+
+		private final int from;
+
+		private final int to;
+
+		private final int chunkSize;
+
+		ChunkTask(List<F> source, Function<? super F, ? extends T> function, Object[] result, BatchFailures failures, int from, int to, int chunkSize) {
+			this.source = source;
+			this.function = function;
+			this.result = result;
+			this.failures = failures;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= this.chunkSize) {
+				for (int i = this.from; i < this.to; i++) {
+					apply(this.source.get(i), this.function, this.result, i, this.failures);
+				}
+				return;
+			}
+			int middle = (this.from + this.to) >>> 1;
+			invokeAll(new ChunkTask<>(this.source, this.function, this.result, this.failures, this.from, middle, this.chunkSize),
+					new ChunkTask<>(this.source, this.function, this.result, this.failures, middle, this.to, this.chunkSize));
+		}
+
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.grelu.mapper.core.execution;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+final class SequentialExecutionStrategy extends AbstractExecutionStrategy {
+
+	static final SequentialExecutionStrategy INSTANCE = new SequentialExecutionStrategy();
+
+	private SequentialExecutionStrategy() {
+		super(Integer.MAX_VALUE);
+	}
+
+	@Override
+	protected <F, T> List<T> parallelMap(List<F> source, Function<? super F, ? extends T> function) {
+		return inline(source, function);
+	}
+
+	@Override
+	public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+		try {
+			return CompletableFuture.completedFuture(supplier.get());
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+	}
+
+	@Override
+	public Executor executor() {
+		return Runnable::run;
+	}
+
+}
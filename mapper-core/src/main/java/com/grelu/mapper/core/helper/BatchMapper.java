@@ -0,0 +1,24 @@
+package com.grelu.mapper.core.helper;
+
+import java.util.List;
+
+/**
+ * Mapper appliqué sur un lot d'objets, pour les enrichissements nécessitant une recherche (base, cache, service)
+ * Une seule recherche peut ainsi être faite pour tout le lot au lieu d'une par objet
+ *
+ * @param <E> Type d'objet à map
+ * @author Dorian GRELU
+ */
+@FunctionalInterface
+public interface BatchMapper<E> {
+
+	/**
+	 * Permets d'appliquer un mapping sur un lot d'objets retournés
+	 * La liste reçue est modifiable et peut être retournée directement
+	 *
+	 * @param objects lot d'objets (au plus la taille de lot configurée sur le wrapper)
+	 * @return objets après map, un par objet reçu et dans le même ordre
+	 */
+	List<E> map(List<E> objects) throws Exception;
+
+}
@@ -0,0 +1,81 @@
+package com.grelu.mapper.core.helper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache d'identité d'une conversion par lot
+ * <p>
+ * Associe chaque instance source (comparée par identité, pas par equals) et type cible au résultat déjà converti.
+ * Un scope est créé par appel du wrapper et abandonné à la fin de celui-ci : aucun résultat n'est partagé entre deux appels.
+ * Seules les conversions passant par le scope sont dédoublonnées : les éléments d'un lot, les sous-objets créés par ModelMapper
+ * lors d'un lot converti par le moteur par défaut, et ceux convertis par un convertisseur via {@code WrapperContext.convertNested}
+ * ou {@link #computeIfAbsent(Object, Class, Function)}.
+ * Pour un graphe cyclique, un convertisseur enregistre la cible avec {@link #put(Object, Class, Object)} avant de convertir les enfants,
+ * la référence vers le parent est alors retrouvée au lieu d'être convertie à nouveau.
+ *
+ * @author Dorian GRELU
+ */
+public final class IdentityScope {
+
+	private record Key(Object source, Class<?> type) {
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof Key key && key.source == this.source && key.type == this.type;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(this.source) + this.type.hashCode();
+		}
+
+	}
+
+	private final Map<Key, Object> converted = new ConcurrentHashMap<>();
+
+	/**
+	 * @return résultat déjà converti, null si la source n'a pas encore été convertie vers ce type
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object source, Class<T> type) {
+		return source == null ? null : (T) this.converted.get(new Key(source, type));
+	}
+
+	/**
+	 * Enregistre le résultat (éventuellement encore incomplet) de la conversion d'une source
+	 */
+	public void put(Object source, Class<?> type, Object target) {
+		if (source != null && target != null) {
+			this.converted.put(new Key(source, type), target);
+		}
+	}
+
+	/**
+	 * Retourne le résultat déjà converti, ou convertis la source et l'enregistre
+	 * Le convertisseur peut lui-même utiliser le scope (conversions imbriquées)
+	 *
+	 * @param source    instance source
+	 * @param type      type cible
+	 * @param converter conversion à appliquer si la source est inconnue
+	 * @return résultat partagé pour la source
+	 */
+	public <S, T> T computeIfAbsent(S source, Class<T> type, Function<? super S, ? extends T> converter) {
+		if (source == null) {
+			return null;
+		}
+		T target = this.get(source, type);
+		if (target != null) {
+			return target;
+		}
+		T result = converter.apply(source); // Hors du verrou de la map : les conversions imbriquées peuvent utiliser le scope
+		if (result == null) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		T previous = (T) this.converted.putIfAbsent(new Key(source, type), result);
+		return previous == null ? result : previous;
+	}
+
+}
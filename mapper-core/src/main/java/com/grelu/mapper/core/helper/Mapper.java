@@ -1,8 +1,5 @@
 package com.grelu.mapper.core.helper;
 
-import com.grelu.mapper.core.PureObject;
-
-
 import java.util.Deque;
 
 
@@ -18,21 +15,15 @@ public interface Mapper<E> {
 	 */
 	E map(E o) throws Exception;
 
+	/**
+	 * Dépile et applique les mappers de la file
+	 *
+	 * @deprecated utiliser un {@link MapperPipeline}, compilé une seule fois
+	 */
+	@Deprecated
 	static <T> T recursiveMap(T o, Deque<Mapper<T>> queue) {
-		T target = o instanceof PureObject ?
-				(T) ((PureObject) o).clone() :
-				o;
-
-		Mapper<T> delegate = queue.poll();
-
-		if (delegate == null) {
-			return target;
-		}
-
-		try {
-			return recursiveMap(delegate.map(target), queue);
-		} catch (Exception e) { // En cas d'erreur du converter, on ignore, et on log
-			return recursiveMap(target, queue);
-		}
+		T target = MapperPipeline.of(queue).apply(o);
+		queue.clear();
+		return target;
 	}
 }
@@ -0,0 +1,223 @@
+package com.grelu.mapper.core.helper;
+
+import com.grelu.mapper.core.PureObject;
+import com.grelu.mapper.core.execution.ExecutionStrategy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Chaîne de mappers figée à la construction du wrapper
+ * <p>
+ * La chaîne est immuable et peut donc être partagée entre tous les appels concurrents.
+ * Son application ne fait aucune allocation (hors copie du PureObject) : les mappers sont parcourus par une simple boucle.
+ * Les {@link BatchMapper} sont appliqués après les mappers unitaires : par lots de {@code chunkSize} objets pour une liste,
+ * sur un lot d'un seul objet pour une conversion unitaire.
+ *
+ * @param <T> Type d'objet à map
+ * @author Dorian GRELU
+ */
+public final class MapperPipeline<T> {
+
+	private static final Logger logger = LogManager.getLogger(MapperPipeline.class);
+
+	/**
+	 * Taille de lot par défaut des BatchMapper
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 256;
+
+	private static final MapperPipeline<?> EMPTY = new MapperPipeline<>(new Mapper<?>[0], new BatchMapper<?>[0], DEFAULT_CHUNK_SIZE);
+
+	private final Mapper<?>[] mappers;
+
+	private final BatchMapper<?>[] batchMappers;
+
+	private final int chunkSize;
+
+	private MapperPipeline(Mapper<?>[] mappers, BatchMapper<?>[] batchMappers, int chunkSize) {
+		this.mappers = mappers;
+		this.batchMappers = batchMappers;
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Compile une liste de mappers, dans l'ordre d'itération de la collection
+	 *
+	 * @param mappers mappers à appliquer
+	 * @return chaîne immuable
+	 */
+	public static <T> MapperPipeline<T> of(Collection<Mapper<T>> mappers) {
+		if (mappers.isEmpty()) {
+			return empty();
+		}
+		return new MapperPipeline<>(mappers.toArray(new Mapper<?>[0]), new BatchMapper<?>[0], DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Compile une liste de mappers unitaires et de mappers par lot
+	 *
+	 * @param mappers      mappers unitaires, appliqués en premier
+	 * @param batchMappers mappers par lot
+	 * @param chunkSize    taille maximale d'un lot
+	 * @return chaîne immuable
+	 */
+	public static <T> MapperPipeline<T> of(Collection<Mapper<T>> mappers, Collection<BatchMapper<T>> batchMappers, int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("Chunk size must be positive");
+		}
+		if (batchMappers.isEmpty()) {
+			return of(mappers);
+		}
+		return new MapperPipeline<>(mappers.toArray(new Mapper<?>[0]), batchMappers.toArray(new BatchMapper<?>[0]), chunkSize);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> MapperPipeline<T> empty() {
+		return (MapperPipeline<T>) EMPTY;
+	}
+
+	/**
+	 * Applique la chaîne sur un objet
+	 * Si l'objet est un PureObject, la chaîne est appliquée sur une copie (une seule copie, quel que soit le nombre de mappers)
+	 * Un mapper en erreur est ignoré, le mapper suivant reçoit alors l'objet dans l'état où il a été laissé
+	 *
+	 * @param o objet à map
+	 * @return objet après map
+	 */
+	public T apply(T o) {
+		return this.apply(o, null);
+	}
+
+	/**
+	 * Applique la chaîne sur un objet, les erreurs des mappers (ignorés) sont signalées à l'écouteur
+	 *
+	 * @param o               objet à map
+	 * @param failureListener écouteur des erreurs de mappers, peut être null
+	 * @return objet après map
+	 */
+	public T apply(T o, Consumer<? super Exception> failureListener) {
+		T target = this.applyElement(o, failureListener);
+		if (this.batchMappers.length == 0) {
+			return target;
+		}
+		return this.applyChunk(Arrays.asList(target), failureListener).get(0);
+	}
+
+	/**
+	 * Applique les mappers unitaires sur chaque objet, puis les mappers par lot sur chaque lot
+	 * Les lots sont traités par la stratégie d'exécution, l'ordre de la liste est conservé
+	 *
+	 * @param objects           objets à map
+	 * @param executionStrategy stratégie d'exécution
+	 * @param failureListener   écouteur des erreurs de mappers, peut être null
+	 * @return liste non modifiable des objets après map
+	 */
+	public List<T> applyAll(List<T> objects, ExecutionStrategy executionStrategy, Consumer<? super Exception> failureListener) {
+		return this.applyBatches(executionStrategy.map(objects, o -> this.applyElement(o, failureListener)), executionStrategy, failureListener);
+	}
+
+	/**
+	 * Applique uniquement les mappers par lot, sur des objets ayant déjà reçu les mappers unitaires
+	 *
+	 * @param objects           objets à map
+	 * @param executionStrategy stratégie d'exécution des lots
+	 * @param failureListener   écouteur des erreurs de mappers, peut être null
+	 * @return liste non modifiable des objets après map
+	 */
+	public List<T> applyBatches(List<T> objects, ExecutionStrategy executionStrategy, Consumer<? super Exception> failureListener) {
+		if (this.batchMappers.length == 0 || objects.isEmpty()) {
+			return objects;
+		}
+		int size = objects.size();
+		if (size <= this.chunkSize) {
+			return Collections.unmodifiableList(this.applyChunk(new ArrayList<>(objects), failureListener));
+		}
+		List<List<T>> chunks = new ArrayList<>((size + this.chunkSize - 1) / this.chunkSize);
+		for (int from = 0; from < size; from += this.chunkSize) {
+			chunks.add(new ArrayList<>(objects.subList(from, Math.min(size, from + this.chunkSize))));
+		}
+		List<T> result = new ArrayList<>(size);
+		for (List<T> chunk : executionStrategy.map(chunks, chunk -> this.applyChunk(chunk, failureListener))) {
+			result.addAll(chunk);
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * @return true si la chaîne contient des mappers par lot : les listes doivent alors passer par {@link #applyAll} ou {@link #applyBatches}
+	 */
+	public boolean hasBatchMappers() {
+		return this.batchMappers.length > 0;
+	}
+
+	/**
+	 * Applique les mappers unitaires uniquement
+	 */
+	@SuppressWarnings("unchecked")
+	public T applyElement(T o, Consumer<? super Exception> failureListener) {
+		return this.applyMappers(o instanceof PureObject pureObject ?
+				(T) pureObject.clone() :
+				o, failureListener);
+	}
+
+	/**
+	 * Applique la chaîne sur l'objet lui-même, sans copie d'un PureObject (mise à jour d'une instance existante)
+	 */
+	public T applyInPlace(T o, Consumer<? super Exception> failureListener) {
+		T target = this.applyMappers(o, failureListener);
+		if (this.batchMappers.length == 0) {
+			return target;
+		}
+		return this.applyChunk(Arrays.asList(target), failureListener).get(0);
+	}
+
+	@SuppressWarnings("unchecked")
+	private T applyMappers(T target, Consumer<? super Exception> failureListener) {
+		for (Mapper<?> mapper : this.mappers) {
+			try {
+				target = ((Mapper<T>) mapper).map(target);
+			} catch (Exception e) { // En cas d'erreur du mapper, on ignore, et on log
+				logger.debug("Ignore failing mapper", e);
+				if (failureListener != null) {
+					failureListener.accept(e);
+				}
+			}
+		}
+		return target;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<T> applyChunk(List<T> chunk, Consumer<? super Exception> failureListener) {
+		List<T> current = chunk;
+		for (BatchMapper<?> batchMapper : this.batchMappers) {
+			try {
+				List<T> mapped = ((BatchMapper<T>) batchMapper).map(current);
+				if (mapped == null || mapped.size() != current.size()) {
+					throw new IllegalStateException("Batch mapper must return one object per mapped object");
+				}
+				current = mapped;
+			} catch (Exception e) { // Même règle que les mappers unitaires : le lot est conservé dans son état
+				logger.debug("Ignore failing batch mapper", e);
+				if (failureListener != null) {
+					failureListener.accept(e);
+				}
+			}
+		}
+		return current;
+	}
+
+	public boolean isEmpty() {
+		return this.mappers.length == 0 && this.batchMappers.length == 0;
+	}
+
+	public int size() {
+		return this.mappers.length + this.batchMappers.length;
+	}
+
+}
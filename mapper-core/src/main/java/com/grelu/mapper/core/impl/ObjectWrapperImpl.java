@@ -2,49 +2,71 @@ package com.grelu.mapper.core.impl;
 
 import com.grelu.mapper.core.ObjectWrapper;
 import com.grelu.mapper.core.builder.WrapperContext;
+import com.grelu.mapper.core.cache.ConversionCache;
+import com.grelu.mapper.core.engine.MappingEngine;
+import com.grelu.mapper.core.engine.WarmUpReport;
+import com.grelu.mapper.core.execution.BatchConversionException;
+import com.grelu.mapper.core.execution.BatchResult;
+import com.grelu.mapper.core.execution.ExecutionStrategy;
 import com.grelu.mapper.core.helper.Converter;
-import com.grelu.mapper.core.helper.Mapper;
+import com.grelu.mapper.core.helper.IdentityScope;
+import com.grelu.mapper.core.helper.MapperPipeline;
 import com.grelu.mapper.core.helper.Resolvable;
-import org.modelmapper.ModelMapper;
+import com.grelu.mapper.core.metrics.WrapperInstrumentation;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public final class ObjectWrapperImpl<E, D> implements ObjectWrapper<E, D> {
 
-	private ModelMapper modelMapper;
+	private final MappingEngine mappingEngine;
 	/**
 	 * Business datas
 	 */
 	private final Converter<D, E> toEntityConverter;
 	private final Converter<E, D> toDataConverter;
-	private final Deque<Mapper<E>> entityMappers;
-	private final Deque<Mapper<D>> dataMappers;
+	private final MapperPipeline<E> entityMappers;
+	private final MapperPipeline<D> dataMappers;
 	private final Resolvable supportEntity;
 	private final Resolvable supportData;
 	private final Class<E> entityClazzType;
 	private final Class<D> dataClazzType;
 	private final int priority;
-
-	private final Map<String, Object> contextParameters;
+	private final ExecutionStrategy executionStrategy;
+	private final boolean identityScoped;
+	private final ConversionCache<E, D> dataCache;
+	private final ConversionCache<D, E> entityCache;
+	private final String name;
+	private final WrapperInstrumentation instrumentation;
+	/**
+	 * Computed once: when disabled, no clock is read and no event is emitted
+	 */
+	private final boolean instrumented;
+	private final Consumer<Exception> mapperFailureListener;
 
 	/**
-	 * Concurrent management
+	 * Immutable snapshot, swapped atomically and shared by every context
 	 */
-	private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+	private volatile Map<String, Object> contextParameters;
 
-	public ObjectWrapperImpl(ModelMapper modelMapper,
+	public ObjectWrapperImpl(MappingEngine mappingEngine,
 							 Converter<D, E> toEntityConverter,
 							 Converter<E, D> toDataConverter,
-							 Deque<Mapper<E>> entityMappers,
-							 Deque<Mapper<D>> dataMappers, Class<E> entityClazzType,
+							 MapperPipeline<E> entityMappers,
+							 MapperPipeline<D> dataMappers, Class<E> entityClazzType,
 							 Class<D> dataClazzType, Resolvable supportEntity,
 							 Resolvable supportData,
-							 int priority
+							 int priority,
+							 ExecutionStrategy executionStrategy,
+							 boolean identityScoped,
+							 ConversionCache<E, D> dataCache,
+							 ConversionCache<D, E> entityCache,
+							 String name,
+							 WrapperInstrumentation instrumentation
 	) {
-		this.modelMapper = modelMapper;
+		this.mappingEngine = mappingEngine;
 		this.toEntityConverter = toEntityConverter;
 		this.toDataConverter = toDataConverter;
 		this.entityMappers = entityMappers;
@@ -54,15 +76,41 @@ public final class ObjectWrapperImpl<E, D> implements ObjectWrapper<E, D> {
 		this.supportEntity = supportEntity;
 		this.supportData = supportData;
 		this.priority = priority;
-		this.contextParameters = new ConcurrentHashMap<>();
+		this.executionStrategy = executionStrategy;
+		this.identityScoped = identityScoped;
+		this.dataCache = dataCache;
+		this.entityCache = entityCache;
+		this.name = name;
+		this.instrumentation = instrumentation;
+		this.instrumented = instrumentation != WrapperInstrumentation.NOOP;
+		this.mapperFailureListener = this.instrumented ? e -> instrumentation.onMapperFailure(name, e) : null;
+		this.contextParameters = Map.of();
 	}
 
 	@Override
 	public E toEntity(D fromData, Class<E> clazz, boolean triggerMap) {
-		return this.to(fromData, this.toEntityConverter, clazz,
-				triggerMap ?
-						this.entityMappers :
-						defaultDeque());
+		if (!this.instrumented) {
+			return this.convertEntity(fromData, clazz, triggerMap);
+		}
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			E entity = this.convertEntity(fromData, clazz, triggerMap);
+			failed = false;
+			return entity;
+		} finally {
+			this.instrumentation.onConversion(this.name, WrapperInstrumentation.Operation.TO_ENTITY, System.nanoTime() - start, failed);
+		}
+	}
+
+	@Override
+	public E updateEntity(D fromData, E target, boolean skipNulls) {
+		return this.update(fromData, target, skipNulls, this.toEntityConverter, this.entityClazzType, this.entityMappers, WrapperInstrumentation.Operation.TO_ENTITY);
+	}
+
+	@Override
+	public D updateData(E fromEntity, D target, boolean skipNulls) {
+		return this.update(fromEntity, target, skipNulls, this.toDataConverter, this.dataClazzType, this.dataMappers, WrapperInstrumentation.Operation.TO_DATA);
 	}
 
 	@Override
@@ -72,10 +120,18 @@ public final class ObjectWrapperImpl<E, D> implements ObjectWrapper<E, D> {
 
 	@Override
 	public List<E> toEntities(List<D> domains, Class<E> clazz, boolean triggerMap) {
-		return this.tos(domains, this.toEntityConverter, clazz,
-				triggerMap ?
-						this.entityMappers :
-						defaultDeque());
+		if (!this.instrumented) {
+			return this.convertEntities(domains, clazz, triggerMap);
+		}
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			List<E> entities = this.convertEntities(domains, clazz, triggerMap);
+			failed = false;
+			return entities;
+		} finally {
+			this.instrumentation.onBatch(this.name, WrapperInstrumentation.Operation.TO_ENTITY, domains.size(), System.nanoTime() - start, failed);
+		}
 	}
 
 	@Override
@@ -89,10 +145,18 @@ public final class ObjectWrapperImpl<E, D> implements ObjectWrapper<E, D> {
 
 	@Override
 	public D toData(E fromEntity, Class<D> clazz, boolean triggerMap) {
-		return this.to(fromEntity, this.toDataConverter, clazz,
-				triggerMap ?
-						this.dataMappers :
-						defaultDeque());
+		if (!this.instrumented) {
+			return this.convertData(fromEntity, clazz, triggerMap);
+		}
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			D data = this.convertData(fromEntity, clazz, triggerMap);
+			failed = false;
+			return data;
+		} finally {
+			this.instrumentation.onConversion(this.name, WrapperInstrumentation.Operation.TO_DATA, System.nanoTime() - start, failed);
+		}
 	}
 
 	@Override
@@ -102,29 +166,52 @@ public final class ObjectWrapperImpl<E, D> implements ObjectWrapper<E, D> {
 
 	@Override
 	public List<D> toDatas(List<E> fromEntities, Class<D> clazz, boolean triggerMap) {
-		return this.tos(fromEntities, this.toDataConverter, clazz,
-				triggerMap ?
-						this.dataMappers :
-						defaultDeque());
+		if (!this.instrumented) {
+			return this.convertDatas(fromEntities, clazz, triggerMap);
+		}
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			List<D> datas = this.convertDatas(fromEntities, clazz, triggerMap);
+			failed = false;
+			return datas;
+		} finally {
+			this.instrumentation.onBatch(this.name, WrapperInstrumentation.Operation.TO_DATA, fromEntities.size(), System.nanoTime() - start, failed);
+		}
 	}
 
 	public E mapEntity(E entity) {
-		return this.map(entity, this.entityMappers);
+		return this.map(entity, this.entityMappers, WrapperInstrumentation.Operation.MAP_ENTITY);
 	}
 
 	@Override
 	public List<E> mapEntities(List<E> entity) {
-		return this.maps(entity, this.entityMappers);
+		return this.maps(entity, this.entityMappers, WrapperInstrumentation.Operation.MAP_ENTITY);
 	}
 
 	@Override
 	public D mapData(D data) {
-		return this.map(data, this.dataMappers);
+		return this.map(data, this.dataMappers, WrapperInstrumentation.Operation.MAP_DATA);
 	}
 
 	@Override
 	public List<D> mapDatas(List<D> datas) {
-		return this.maps(datas, this.dataMappers);
+		return this.maps(datas, this.dataMappers, WrapperInstrumentation.Operation.MAP_DATA);
+	}
+
+	@Override
+	public ExecutionStrategy getExecutionStrategy() {
+		return this.executionStrategy;
+	}
+
+	@Override
+	public CompletableFuture<D> toDataAsync(E fromEntity) {
+		return this.executionStrategy.supply(() -> this.toData(fromEntity));
+	}
+
+	@Override
+	public CompletableFuture<E> toEntityAsync(D fromData) {
+		return this.executionStrategy.supply(() -> this.toEntity(fromData));
 	}
 
 	@Override
@@ -137,31 +224,194 @@ public final class ObjectWrapperImpl<E, D> implements ObjectWrapper<E, D> {
 		return this.support(clazz, this.entityClazzType, option, this.supportEntity);
 	}
 
+	private E convertEntity(D fromData, Class<E> clazz, boolean triggerMap) {
+		if (triggerMap && this.entityCache != null) {
+			return this.cachedTo(fromData, this.entityCache, this.toEntityConverter, clazz, this.entityMappers);
+		}
+		return this.to(fromData, this.toEntityConverter, clazz,
+				triggerMap ?
+						this.entityMappers :
+						MapperPipeline.empty());
+	}
+
+	private List<E> convertEntities(List<D> domains, Class<E> clazz, boolean triggerMap) {
+		if (triggerMap && this.entityCache != null) {
+			return this.cachedTos(domains, this.entityCache, this.toEntityConverter, clazz, this.entityMappers);
+		}
+		return this.tos(domains, this.toEntityConverter, clazz,
+				triggerMap ?
+						this.entityMappers :
+						MapperPipeline.empty());
+	}
+
+	private D convertData(E fromEntity, Class<D> clazz, boolean triggerMap) {
+		if (triggerMap && this.dataCache != null) {
+			return this.cachedTo(fromEntity, this.dataCache, this.toDataConverter, clazz, this.dataMappers);
+		}
+		return this.to(fromEntity, this.toDataConverter, clazz,
+				triggerMap ?
+						this.dataMappers :
+						MapperPipeline.empty());
+	}
+
+	private List<D> convertDatas(List<E> fromEntities, Class<D> clazz, boolean triggerMap) {
+		if (triggerMap && this.dataCache != null) {
+			return this.cachedTos(fromEntities, this.dataCache, this.toDataConverter, clazz, this.dataMappers);
+		}
+		return this.tos(fromEntities, this.toDataConverter, clazz,
+				triggerMap ?
+						this.dataMappers :
+						MapperPipeline.empty());
+	}
+
+	// Le cache conserve le résultat des mappers unitaires, les mappers par lot passent après la lecture (une fois par tranche pour une liste)
+	private <F, T> T cachedTo(F o, ConversionCache<F, T> cache, Converter<F, T> converterDelegate, Class<T> clazz, MapperPipeline<T> mapperDelegate) {
+		IdentityScope scope = this.identityScoped ? new IdentityScope() : null;
+		T converted = cache.get(o, clazz, f -> this.to(f, converterDelegate, clazz, mapperDelegate, scope));
+		return this.batchMap(Collections.singletonList(converted), converterDelegate, mapperDelegate).get(0);
+	}
+
+	private <F, T> List<T> cachedTos(List<F> o, ConversionCache<F, T> cache, Converter<F, T> converterDelegate, Class<T> clazz, MapperPipeline<T> mapperDelegate) {
+		IdentityScope scope = this.identityScoped ? new IdentityScope() : null;
+		return this.convertAll(o, value -> cache.get(value, clazz, f -> this.to(f, converterDelegate, clazz, mapperDelegate, scope)), converterDelegate, mapperDelegate);
+	}
+
 	@SuppressWarnings("unchecked")
-	public <F, T> List<T> tos(List<F> o, Converter<F, T> converterDelegate, Class<T> clazz, Deque<Mapper<T>> mapperDelegate) {
-		return o.parallelStream().map(f -> this.to(f, converterDelegate, clazz, mapperDelegate)).toList();
+	public <F, T> List<T> tos(List<F> o, Converter<F, T> converterDelegate, Class<T> clazz, MapperPipeline<T> mapperDelegate) {
+		if (!this.identityScoped) {
+			return this.convertAll(o, f -> this.to(f, converterDelegate, clazz, mapperDelegate, null), converterDelegate, mapperDelegate);
+		}
+
+		// Chaque instance distincte est convertie une seule fois, les doublons partagent le même résultat
+		IdentityScope scope = new IdentityScope();
+		Map<F, Integer> slots = new IdentityHashMap<>();
+		List<F> distinct = new ArrayList<>();
+		int[] positions = new int[o.size()];
+		int index = 0;
+		for (F value : o) { // Parcours par itérateur : pas d'accès indexé sur une LinkedList
+			Integer slot = slots.get(value);
+			if (slot == null) {
+				slot = distinct.size();
+				slots.put(value, slot);
+				distinct.add(value);
+			}
+			positions[index++] = slot;
+		}
+		List<T> converted;
+		try {
+			converted = converterDelegate == null ?
+					this.mapAll(distinct, clazz) :
+					this.convertAll(distinct, f -> this.to(f, converterDelegate, clazz, mapperDelegate, scope), converterDelegate, mapperDelegate);
+		} catch (BatchConversionException e) {
+			throw remap(e, positions);
+		}
+		if (distinct.size() == positions.length) {
+			return converted;
+		}
+		Object[] result = new Object[positions.length];
+		for (int i = 0; i < positions.length; i++) {
+			result[i] = converted.get(positions[i]);
+		}
+		return (List<T>) Collections.unmodifiableList(Arrays.asList(result));
+	}
+
+	/**
+	 * Moteur par défaut : le lot est converti en un seul appel du moteur, qui partage les sous-objets communs entre les éléments
+	 * En cas d'échec, les éléments sont reconvertis un à un pour connaître la position des erreurs
+	 */
+	private <F, T> List<T> mapAll(List<F> distinct, Class<T> clazz) {
+		try {
+			return Collections.unmodifiableList(this.mappingEngine.mapAll(distinct, clazz));
+		} catch (RuntimeException e) {
+			IdentityScope scope = new IdentityScope();
+			return this.convertAll(distinct, f -> this.to(f, null, clazz, MapperPipeline.empty(), scope), null, MapperPipeline.empty());
+		}
 	}
 
-	public <F, T> T to(F o, Converter<F, T> converterDelegate, Class<T> clazz, Deque<Mapper<T>> mapperDelegate) {
+	// Les erreurs portent sur les instances distinctes, elles sont reportées sur chaque position de la liste appelante
+	private static BatchConversionException remap(BatchConversionException e, int[] positions) {
+		RuntimeException[] causes = new RuntimeException[e.getSize()];
+		for (BatchConversionException.Failure failure : e.getFailures()) {
+			causes[failure.index()] = failure.cause();
+		}
+		List<BatchConversionException.Failure> failures = new ArrayList<>();
+		Object[] results = new Object[positions.length];
+		for (int i = 0; i < positions.length; i++) {
+			if (causes[positions[i]] != null) {
+				failures.add(new BatchConversionException.Failure(i, causes[positions[i]]));
+			}
+			results[i] = e.getPartialResults().get(positions[i]);
+		}
+		return new BatchConversionException(failures, Arrays.asList(results));
+	}
+
+	private <F, T> List<T> convertAll(List<F> o, Function<? super F, ? extends T> element, Converter<F, T> converterDelegate, MapperPipeline<T> mapperDelegate) {
+		List<T> converted;
+		try {
+			converted = this.executionStrategy.map(o, element);
+		} catch (BatchConversionException e) {
+			if (converterDelegate == null || !mapperDelegate.hasBatchMappers()) {
+				throw e;
+			}
+			// Les mappers par lot passent tout de même sur les éléments convertis, les résultats partiels sont ainsi complets
+			boolean[] failed = new boolean[e.getSize()];
+			for (BatchConversionException.Failure failure : e.getFailures()) {
+				failed[failure.index()] = true;
+			}
+			Iterator<T> mapped = this.batchMap(BatchResult.<T>of(e).getSucceeded(), converterDelegate, mapperDelegate).iterator();
+			Object[] results = new Object[failed.length];
+			for (int i = 0; i < failed.length; i++) {
+				results[i] = failed[i] ? null : mapped.next();
+			}
+			throw new BatchConversionException(e.getFailures(), Arrays.asList(results));
+		}
+		return this.batchMap(converted, converterDelegate, mapperDelegate);
+	}
+
+	public <F, T> T to(F o, Converter<F, T> converterDelegate, Class<T> clazz, MapperPipeline<T> mapperDelegate) {
+		T converted = this.to(o, converterDelegate, clazz, mapperDelegate, this.identityScoped ? new IdentityScope() : null);
+		if (converterDelegate == null || !mapperDelegate.hasBatchMappers()) {
+			return converted;
+		}
+		return mapperDelegate.applyBatches(Collections.singletonList(converted), this.executionStrategy, this.mapperFailureListener).get(0);
+	}
+
+	// Les mappers par lot passent une fois par tranche, après le passage de chaque élément de la liste dans les mappers unitaires
+	private <F, T> List<T> batchMap(List<T> converted, Converter<F, T> converterDelegate, MapperPipeline<T> mapperDelegate) {
+		if (converterDelegate == null) {
+			return converted;
+		}
+		return mapperDelegate.applyBatches(converted, this.executionStrategy, this.mapperFailureListener);
+	}
+
+	private <F, T> T to(F o, Converter<F, T> converterDelegate, Class<T> clazz, MapperPipeline<T> mapperDelegate, IdentityScope scope) {
 		try {
-			this.readWriteLock.readLock().lock();
 			if (converterDelegate == null) {
-				return this.createContext(o, clazz).useDefaultModelMapper(clazz);
+				return this.createContext(o, clazz, scope).useDefaultModelMapper(clazz);
 			}
-			return this.map(converterDelegate.convert(this.createContext(o, clazz)), new ArrayDeque<>(mapperDelegate));
+			return mapperDelegate.applyElement(converterDelegate.convert(this.createContext(o, clazz, scope)), this.mapperFailureListener);
 		} catch (Exception e) {
 			throw new IllegalStateException("Unexpected exception during conversion", e);
-		} finally {
-			this.readWriteLock.readLock().lock();
 		}
 	}
 
-	public <T> List<T> maps(List<T> os, Deque<Mapper<T>> mapperDelegates) {
-		return os.parallelStream().map(t -> this.map(t, new ArrayDeque<>(mapperDelegates))).toList();
+	public <T> List<T> maps(List<T> os, MapperPipeline<T> mapperDelegates) {
+		return mapperDelegates.applyAll(os, this.executionStrategy, this.mapperFailureListener);
 	}
 
-	private static <T> Deque<Mapper<T>> defaultDeque() {
-		return new ArrayDeque<>();
+	private <T> List<T> maps(List<T> os, MapperPipeline<T> mapperDelegates, WrapperInstrumentation.Operation operation) {
+		if (!this.instrumented) {
+			return this.maps(os, mapperDelegates);
+		}
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			List<T> mapped = this.maps(os, mapperDelegates);
+			failed = false;
+			return mapped;
+		} finally {
+			this.instrumentation.onBatch(this.name, operation, os.size(), System.nanoTime() - start, failed);
+		}
 	}
 
 	private <T, P> boolean support(Class<T> targetClazz, Class<P> compareClazz, String option, Resolvable delegate) {
@@ -175,17 +425,73 @@ public final class ObjectWrapperImpl<E, D> implements ObjectWrapper<E, D> {
 		return compareClazz.equals(targetClazz);
 	}
 
-	private <F, T> WrapperContext<F, T> createContext(F value, Class<T> clazz) {
-		try { // On vérouille car on accède au state des paramètres de context qui peuvent changer
-			return new WrapperContext<>(this.modelMapper, value, clazz, this.contextParameters);
+	@Override
+	public WarmUpReport warmUp() {
+		long start = System.nanoTime();
+		List<WarmUpReport.Result> results = new ArrayList<>(2);
+		// Un sens doté d'un convertisseur n'utilise le moteur qu'à la demande de celui-ci : il n'est pas préparé
+		if (this.toDataConverter == null) {
+			results.add(this.prepare(this.entityClazzType, this.dataClazzType));
+		}
+		if (this.toEntityConverter == null) {
+			results.add(this.prepare(this.dataClazzType, this.entityClazzType));
+		}
+		return WarmUpReport.of(results, System.nanoTime() - start);
+	}
+
+	private WarmUpReport.Result prepare(Class<?> source, Class<?> target) {
+		long start = System.nanoTime();
+		try {
+			List<String> unmapped = this.mappingEngine.prepare(source, target);
+			return new WarmUpReport.Result(this.name, source, target, System.nanoTime() - start, unmapped, null);
+		} catch (RuntimeException e) {
+			return new WarmUpReport.Result(this.name, source, target, System.nanoTime() - start, List.of(), e);
+		}
+	}
+
+	// Mise à jour en place : la cible est transmise au convertisseur (ou au moteur), les mappers s'appliquent sans la copier
+	private <F, T> T update(F o, T target, boolean skipNulls, Converter<F, T> converterDelegate, Class<T> clazz, MapperPipeline<T> mapperDelegate,
+							WrapperInstrumentation.Operation operation) {
+		if (target == null) {
+			throw new IllegalArgumentException("Missing required target instance");
+		}
+		long start = this.instrumented ? System.nanoTime() : 0;
+		boolean failed = true;
+		try {
+			WrapperContext<F, T> context = new WrapperContext<>(this.mappingEngine, o, clazz, this.contextParameters,
+					this.identityScoped ? new IdentityScope() : null, target, skipNulls);
+			T updated = converterDelegate == null ?
+					context.useDefaultModelMapper() :
+					mapperDelegate.applyInPlace(converterDelegate.convert(context), this.mapperFailureListener);
+			failed = false;
+			return updated;
+		} catch (Exception e) {
+			throw new IllegalStateException("Unexpected exception during conversion", e);
 		} finally {
-			this.readWriteLock.readLock().unlock();
+			if (this.instrumented) {
+				this.instrumentation.onConversion(this.name, operation, System.nanoTime() - start, failed);
+			}
 		}
 	}
 
-	@SuppressWarnings("unchecked")
-	private <T> T map(T o, Deque<Mapper<T>> mapperDelegates) {
-		return Mapper.recursiveMap(o, mapperDelegates);
+	private <F, T> WrapperContext<F, T> createContext(F value, Class<T> clazz, IdentityScope scope) {
+		// Lecture unique du snapshot : le contexte garde une vue cohérente même si les paramètres sont remplacés entre temps
+		return new WrapperContext<>(this.mappingEngine, value, clazz, this.contextParameters, scope);
+	}
+
+	private <T> T map(T o, MapperPipeline<T> mapperDelegates, WrapperInstrumentation.Operation operation) {
+		if (!this.instrumented) {
+			return mapperDelegates.apply(o);
+		}
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			T mapped = mapperDelegates.apply(o, this.mapperFailureListener);
+			failed = false;
+			return mapped;
+		} finally {
+			this.instrumentation.onConversion(this.name, operation, System.nanoTime() - start, failed);
+		}
 	}
 
 	@Override
@@ -195,13 +501,7 @@ public final class ObjectWrapperImpl<E, D> implements ObjectWrapper<E, D> {
 
 	@Override
 	public ObjectWrapper<E, D> setContextParameters(Map<String, Object> parameters) {
-		try {
-			this.readWriteLock.writeLock().lock();
-			this.contextParameters.clear();
-			this.contextParameters.putAll(parameters);
-		} finally {
-			this.readWriteLock.writeLock().unlock();
-		}
+		this.contextParameters = Map.copyOf(parameters);
 		return this;
 	}
 
@@ -0,0 +1,69 @@
+package com.grelu.mapper.core.metrics;
+
+/**
+ * Point d'extension de mesure des wrappers et du conteneur
+ * <p>
+ * Toutes les méthodes ont une implémentation vide : une implémentation ne redéfinit que les évènements qui l'intéressent.
+ * Avec {@link #NOOP} (valeur par défaut), les wrappers ne mesurent rien : aucun appel à {@link System#nanoTime()} n'est fait.
+ * Les méthodes sont appelées depuis les threads de conversion et doivent donc être thread-safe et rapides.
+ *
+ * @author Dorian GRELU
+ */
+public interface WrapperInstrumentation {
+
+	/**
+	 * Instrumentation désactivée
+	 */
+	WrapperInstrumentation NOOP = new WrapperInstrumentation() {
+	};
+
+	enum Operation {
+		TO_DATA,
+		TO_ENTITY,
+		MAP_DATA,
+		MAP_ENTITY
+	}
+
+	/**
+	 * Conversion (ou application des mappers) unitaire
+	 *
+	 * @param wrapper       nom du wrapper
+	 * @param operation     opération
+	 * @param durationNanos durée
+	 * @param failed        true si une exception a été levée
+	 */
+	default void onConversion(String wrapper, Operation operation, long durationNanos, boolean failed) {
+	}
+
+	/**
+	 * Traitement d'une liste
+	 *
+	 * @param wrapper       nom du wrapper
+	 * @param operation     opération
+	 * @param size          taille de la liste
+	 * @param durationNanos durée totale
+	 * @param failed        true si une exception a été levée
+	 */
+	default void onBatch(String wrapper, Operation operation, int size, long durationNanos, boolean failed) {
+	}
+
+	/**
+	 * Mapper en erreur, ignoré par la chaîne de mappers
+	 *
+	 * @param wrapper   nom du wrapper
+	 * @param exception erreur du mapper
+	 */
+	default void onMapperFailure(String wrapper, Exception exception) {
+	}
+
+	/**
+	 * Résolution d'un wrapper par le conteneur
+	 *
+	 * @param target        type recherché
+	 * @param durationNanos durée
+	 * @param resolved      false si le wrapper par défaut a été utilisé
+	 */
+	default void onResolution(Class<?> target, long durationNanos, boolean resolved) {
+	}
+
+}
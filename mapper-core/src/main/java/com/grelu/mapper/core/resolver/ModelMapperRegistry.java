@@ -0,0 +1,118 @@
+package com.grelu.mapper.core.resolver;
+
+import com.grelu.mapper.core.CustomModelMapper;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.config.Configuration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Registre des ModelMapper partagés entre les wrappers
+ * <p>
+ * Un mapper est créé par profil de configuration, au premier usage, puis partagé par tous les wrappers de ce profil :
+ * ses TypeMaps (introspection, correspondances) ne sont construits qu'une seule fois.
+ * Le profil {@value #DEFAULT_PROFILE} utilise la configuration de {@link CustomModelMapper}.
+ * Un wrapper nécessitant un mapper propre (TypeMaps personnalisés) le fournit via {@code WrapperBuilder.getInstance(ModelMapper)}.
+ *
+ * @author Dorian GRELU
+ */
+public final class ModelMapperRegistry {
+
+	public static final String DEFAULT_PROFILE = "default";
+
+	private static final ModelMapperRegistry SHARED = new ModelMapperRegistry();
+
+	/**
+	 * Nombre de mappers et de TypeMaps en mémoire
+	 *
+	 * @param mappers  mappers créés
+	 * @param typeMaps TypeMaps de l'ensemble des mappers
+	 */
+	public record Stats(int mappers, int typeMaps) {
+	}
+
+	private final Map<String, Supplier<? extends ModelMapper>> factories = new ConcurrentHashMap<>();
+
+	private final Map<String, ModelMapper> mappers = new ConcurrentHashMap<>();
+
+	public ModelMapperRegistry() {
+		this.factories.put(DEFAULT_PROFILE, CustomModelMapper::new);
+	}
+
+	/**
+	 * Registre utilisé par défaut par les builders
+	 */
+	public static ModelMapperRegistry shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Déclare un profil de configuration, avant la première utilisation de son mapper
+	 *
+	 * @param profile profil
+	 * @param factory création du mapper
+	 * @return registre
+	 */
+	public ModelMapperRegistry register(String profile, Supplier<? extends ModelMapper> factory) {
+		if (profile == null || factory == null) {
+			throw new IllegalArgumentException("Missing required profile or factory");
+		}
+		if (this.mappers.containsKey(profile)) {
+			throw new IllegalStateException("Mapper for profile " + profile + " is already in use");
+		}
+		this.factories.put(profile, factory);
+		return this;
+	}
+
+	/**
+	 * Déclare un profil reprenant la configuration par défaut, complétée par l'appelant
+	 *
+	 * @param profile    profil
+	 * @param customizer personnalisation de la configuration
+	 * @return registre
+	 */
+	public ModelMapperRegistry configure(String profile, Consumer<Configuration> customizer) {
+		return this.register(profile, () -> {
+			ModelMapper mapper = new CustomModelMapper();
+			customizer.accept(mapper.getConfiguration());
+			return mapper;
+		});
+	}
+
+	/**
+	 * @return mapper du profil par défaut
+	 */
+	public ModelMapper get() {
+		return this.get(DEFAULT_PROFILE);
+	}
+
+	/**
+	 * @param profile profil de configuration
+	 * @return mapper partagé du profil, créé au premier appel
+	 */
+	public ModelMapper get(String profile) {
+		ModelMapper mapper = this.mappers.get(profile);
+		if (mapper != null) {
+			return mapper;
+		}
+		return this.mappers.computeIfAbsent(profile, key -> {
+			Supplier<? extends ModelMapper> factory = this.factories.get(key);
+			if (factory == null) {
+				throw new IllegalArgumentException("Unknown mapper profile " + key);
+			}
+			return factory.get();
+		});
+	}
+
+	public Stats stats() {
+		int typeMaps = 0;
+		for (ModelMapper mapper : this.mappers.values()) {
+			typeMaps += mapper.getTypeMaps().size();
+		}
+		return new Stats(this.mappers.size(), typeMaps);
+	}
+
+}
@@ -2,8 +2,49 @@ package com.grelu.mapper.core.resolver;
 
 import org.modelmapper.ModelMapper;
 
+import java.util.Optional;
+
+/**
+ * Résolution du ModelMapper utilisé par les conversions par défaut
+ * <p>
+ * La résolution est sans verrou et ne crée jamais de mapper à chaque appel : le mapper est créé une seule fois
+ * (par profil de configuration) puis réutilisé, avec ses TypeMaps déjà construits.
+ *
+ * @author Dorian GRELU
+ */
 public interface ModelMapperResolver {
 
+	/**
+	 * @return mapper du profil par défaut
+	 */
 	public ModelMapper resolve();
 
+	/**
+	 * @param profile profil de configuration déclaré dans le registre
+	 * @return mapper partagé du profil
+	 */
+	public ModelMapper resolve(String profile);
+
+	/**
+	 * Résolution par le registre partagé
+	 */
+	static ModelMapperResolver shared() {
+		return ModelMapperResolverImpl.SHARED;
+	}
+
+	/**
+	 * @param registry registre des mappers par profil
+	 */
+	static ModelMapperResolver of(ModelMapperRegistry registry) {
+		return new ModelMapperResolverImpl(Optional.empty(), registry);
+	}
+
+	/**
+	 * @param defaultMapper mapper du profil par défaut (mapper déclaré par l'application), vide pour celui du registre
+	 * @param registry      registre des autres profils
+	 */
+	static ModelMapperResolver of(Optional<ModelMapper> defaultMapper, ModelMapperRegistry registry) {
+		return new ModelMapperResolverImpl(defaultMapper, registry);
+	}
+
 }
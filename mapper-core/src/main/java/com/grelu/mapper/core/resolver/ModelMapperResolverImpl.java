@@ -6,16 +6,35 @@ import org.modelmapper.ModelMapper;
 import java.util.Optional;
 
 
-class ModelMapperResolverImpl implements ModelMapperResolver {
+final class ModelMapperResolverImpl implements ModelMapperResolver {
 
-	private final Optional<ModelMapper> resolvedMapper;
+	static final ModelMapperResolverImpl SHARED = new ModelMapperResolverImpl(Optional.empty(), ModelMapperRegistry.shared());
+
+	private final ModelMapper resolvedMapper;
+
+	private final ModelMapperRegistry registry;
 
 	public ModelMapperResolverImpl(Optional<ModelMapper> resolvedMapper) {
-		this.resolvedMapper = resolvedMapper;
+		this(resolvedMapper, ModelMapperRegistry.shared());
+	}
+
+	public ModelMapperResolverImpl(Optional<ModelMapper> resolvedMapper, ModelMapperRegistry registry) {
+		if (null == registry) {
+			throw new IllegalArgumentException("Missing required model mapper registry");
+		}
+		this.resolvedMapper = resolvedMapper.orElse(null);
+		this.registry = registry;
+	}
+
+	// Champs finaux et registre sans verrou en lecture : aucune synchronisation nécessaire
+	@Override
+	public ModelMapper resolve() {
+		return this.resolvedMapper != null ? this.resolvedMapper : this.registry.get();
 	}
 
-	public synchronized ModelMapper resolve() {
-		return this.resolvedMapper.orElseGet(ModelMapper::new);
+	@Override
+	public ModelMapper resolve(String profile) {
+		return ModelMapperRegistry.DEFAULT_PROFILE.equals(profile) ? this.resolve() : this.registry.get(profile);
 	}
 
 }
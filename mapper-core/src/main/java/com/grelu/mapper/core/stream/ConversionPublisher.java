@@ -0,0 +1,272 @@
+package com.grelu.mapper.core.stream;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Publisher convertissant les éléments d'un autre publisher
+ * <p>
+ * La demande en amont est calquée sur la demande en aval, dans la limite de {@code maxInFlight} éléments en cours
+ * (conversion en cours ou résultat non encore émis) : aucun tampon non borné n'est utilisé.
+ * Les conversions sont exécutées sur l'exécuteur des options, une erreur de conversion annule l'amont et est propagée par onError.
+ * Chaque abonnement provoque un nouvel abonnement à la source.
+ *
+ * @param <F> type source
+ * @param <T> type cible
+ * @author Dorian GRELU
+ */
+public final class ConversionPublisher<F, T> implements Flow.Publisher<T> {
+
+	/**
+	 * Options par défaut : parallélisme égal au nombre de processeurs, ordre conservé
+	 */
+	public static StreamOptions defaultOptions() {
+		return StreamOptions.parallel(Runtime.getRuntime().availableProcessors(), true);
+	}
+
+	private final Flow.Publisher<F> source;
+
+	private final Function<? super F, ? extends T> converter;
+
+	private final Executor executor;
+
+	private final int maxInFlight;
+
+	private final boolean ordered;
+
+	/**
+	 * @param source          publisher source
+	 * @param converter       conversion unitaire
+	 * @param options         options (concurrence, ordre, exécuteur)
+	 * @param defaultExecutor exécuteur utilisé si les options n'en définissent pas
+	 */
+	public ConversionPublisher(Flow.Publisher<F> source, Function<? super F, ? extends T> converter, StreamOptions options, Executor defaultExecutor) {
+		this.source = Objects.requireNonNull(source);
+		this.converter = Objects.requireNonNull(converter);
+		this.executor = options.getExecutor() != null ? options.getExecutor() : defaultExecutor;
+		this.maxInFlight = options.getMaxInFlight();
+		this.ordered = options.isOrdered();
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		Objects.requireNonNull(subscriber);
+		this.source.subscribe(new ConversionSubscription<>(subscriber, this.converter, this.executor, this.maxInFlight, this.ordered));
+	}
+
+	/**
+	 * Abonné à la source et abonnement de l'aval
+	 * Toutes les émissions vers l'aval sont sérialisées par la boucle de drain (compteur wip)
+	 */
+	private static final class ConversionSubscription<F, T> implements Flow.Subscriber<F>, Flow.Subscription {
+
+		private final Flow.Subscriber<? super T> downstream;
+		private final Function<? super F, ? extends T> converter;
+		private final Executor executor;
+		private final int maxInFlight;
+		private final boolean ordered;
+
+		/**
+		 * Conversions dans l'ordre de soumission (mode ordonné) ou dans l'ordre de fin (mode non ordonné)
+		 */
+		private final Queue<CompletableFuture<T>> conversions = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicLong requested = new AtomicLong();
+		private final AtomicLong received = new AtomicLong();
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private volatile Flow.Subscription upstream;
+		private volatile boolean upstreamDone;
+		private volatile Throwable error;
+		private volatile boolean cancelled;
+
+		/**
+		 * Uniquement manipulés par la boucle de drain
+		 */
+		private long emitted;
+		private long upstreamRequested;
+		private boolean terminated;
+
+		private ConversionSubscription(Flow.Subscriber<? super T> downstream, Function<? super F, ? extends T> converter, Executor executor, int maxInFlight, boolean ordered) {
+			this.downstream = downstream;
+			this.converter = converter;
+			this.executor = executor;
+			this.maxInFlight = maxInFlight;
+			this.ordered = ordered;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			if (this.upstream != null) {
+				subscription.cancel();
+				return;
+			}
+			this.upstream = subscription;
+			this.downstream.onSubscribe(this);
+			this.drain();
+		}
+
+		@Override
+		public void onNext(F item) {
+			// inFlight avant received : un drain concurrent ne doit jamais voir l'élément ni en attente ni en cours
+			this.inFlight.incrementAndGet();
+			this.received.incrementAndGet();
+			CompletableFuture<T> future;
+			try {
+				future = CompletableFuture.supplyAsync(() -> this.converter.apply(item), this.executor);
+			} catch (RuntimeException e) { // Exécuteur saturé ou arrêté
+				future = CompletableFuture.failedFuture(e);
+			}
+			if (this.ordered) {
+				this.conversions.add(future);
+				future.whenComplete((result, e) -> this.drain());
+			} else {
+				CompletableFuture<T> completed = future;
+				future.whenComplete((result, e) -> {
+					this.conversions.add(completed);
+					this.drain();
+				});
+			}
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			this.error = throwable;
+			this.upstreamDone = true;
+			this.drain();
+		}
+
+		@Override
+		public void onComplete() {
+			this.upstreamDone = true;
+			this.drain();
+		}
+
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				this.error = new IllegalArgumentException("Non-positive request: " + n);
+				this.upstreamDone = true;
+				this.cancelUpstream();
+			} else {
+				this.requested.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+			}
+			this.drain();
+		}
+
+		@Override
+		public void cancel() {
+			this.cancelled = true;
+			this.cancelUpstream();
+			this.drain();
+		}
+
+		private void drain() {
+			if (this.wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				if (!this.terminated) {
+					this.drainLoop();
+				}
+				missed = this.wip.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void drainLoop() {
+			if (this.cancelled) {
+				this.clear();
+				this.terminated = true;
+				return;
+			}
+			if (this.error != null) { // Une erreur amont est propagée immédiatement
+				this.fail(this.error);
+				return;
+			}
+
+			long demand = this.requested.get();
+			for (CompletableFuture<T> head = this.conversions.peek(); head != null && head.isDone(); head = this.conversions.peek()) {
+				if (head.isCompletedExceptionally()) {
+					this.fail(unwrap(head));
+					return;
+				}
+				if (this.emitted == demand) {
+					break;
+				}
+				this.conversions.poll();
+				this.inFlight.decrementAndGet();
+				T value = head.join();
+				if (value == null) {
+					this.fail(new NullPointerException("Converter returned null"));
+					return;
+				}
+				this.downstream.onNext(value);
+				this.emitted++;
+				if (this.cancelled) {
+					this.clear();
+					this.terminated = true;
+					return;
+				}
+			}
+
+			if (this.upstreamDone && this.inFlight.get() == 0) {
+				this.terminated = true;
+				this.downstream.onComplete();
+				return;
+			}
+
+			Flow.Subscription subscription = this.upstream;
+			if (subscription != null && !this.upstreamDone) {
+				long outstanding = this.upstreamRequested - this.received.get();
+				long capacity = Math.min(this.maxInFlight, demand - this.emitted) - this.inFlight.get() - outstanding;
+				if (capacity > 0) {
+					this.upstreamRequested += capacity;
+					subscription.request(capacity);
+				}
+			}
+		}
+
+		private void fail(Throwable throwable) {
+			this.terminated = true;
+			this.cancelUpstream();
+			this.clear();
+			this.downstream.onError(throwable);
+		}
+
+		private void cancelUpstream() {
+			Flow.Subscription subscription = this.upstream;
+			if (subscription != null) {
+				subscription.cancel();
+			}
+		}
+
+		private void clear() {
+			for (CompletableFuture<T> future = this.conversions.poll(); future != null; future = this.conversions.poll()) {
+				future.cancel(false);
+			}
+		}
+
+		private static Throwable unwrap(CompletableFuture<?> future) {
+			try {
+				future.join();
+				return new IllegalStateException("Conversion did not fail");
+			} catch (CompletionException e) {
+				return e.getCause() != null ? e.getCause() : e;
+			} catch (CancellationException e) {
+				return e;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,180 @@
+package com.grelu.mapper.core.stream;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Conversion paresseuse de flux, éventuellement parallèle et bornée
+ *
+ * @author Dorian GRELU
+ */
+public final class ConversionStreams {
+
+	private ConversionStreams() {
+	}
+
+	/**
+	 * Convertis un flux
+	 *
+	 * @param source          flux source, fermé à la fermeture du flux retourné
+	 * @param converter       conversion unitaire
+	 * @param options         options
+	 * @param defaultExecutor exécuteur utilisé si les options n'en définissent pas
+	 * @return flux converti
+	 */
+	public static <F, T> Stream<T> stream(Stream<F> source, Function<? super F, ? extends T> converter, StreamOptions options, Executor defaultExecutor) {
+		if (!options.isParallel()) {
+			return source.map(converter);
+		}
+		Iterator<T> iterator = iterator(source.iterator(), converter, options, defaultExecutor);
+		int characteristics = options.isOrdered() ? Spliterator.ORDERED : 0;
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false)
+				.onClose(source::close);
+	}
+
+	/**
+	 * Convertis un itérateur
+	 *
+	 * @param source          itérateur source, toujours lu depuis le thread consommateur
+	 * @param converter       conversion unitaire
+	 * @param options         options
+	 * @param defaultExecutor exécuteur utilisé si les options n'en définissent pas
+	 * @return itérateur converti
+	 */
+	public static <F, T> Iterator<T> iterator(Iterator<F> source, Function<? super F, ? extends T> converter, StreamOptions options, Executor defaultExecutor) {
+		if (!options.isParallel()) {
+			return new Iterator<>() {
+				@Override
+				public boolean hasNext() {
+					return source.hasNext();
+				}
+
+				@Override
+				public T next() {
+					return converter.apply(source.next());
+				}
+			};
+		}
+		Executor executor = options.getExecutor() != null ? options.getExecutor() : defaultExecutor;
+		return options.isOrdered() ?
+				new OrderedIterator<>(source, converter, executor, options.getMaxInFlight()) :
+				new UnorderedIterator<>(source, converter, executor, options.getMaxInFlight());
+	}
+
+	private static <T> T join(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Fenêtre glissante : les résultats sont restitués dans l'ordre de la source
+	 */
+	private static final class OrderedIterator<F, T> implements Iterator<T> {
+
+		private final Iterator<F> source;
+		private final Function<? super F, ? extends T> converter;
+		private final Executor executor;
+		private final int maxInFlight;
+		private final Deque<CompletableFuture<T>> window;
+
+		private OrderedIterator(Iterator<F> source, Function<? super F, ? extends T> converter, Executor executor, int maxInFlight) {
+			this.source = source;
+			this.converter = converter;
+			this.executor = executor;
+			this.maxInFlight = maxInFlight;
+			this.window = new ArrayDeque<>(maxInFlight);
+		}
+
+		@Override
+		public boolean hasNext() {
+			this.fill();
+			return !this.window.isEmpty();
+		}
+
+		@Override
+		public T next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return join(this.window.poll());
+		}
+
+		private void fill() {
+			while (this.window.size() < this.maxInFlight && this.source.hasNext()) {
+				F value = this.source.next();
+				this.window.add(CompletableFuture.supplyAsync(() -> this.converter.apply(value), this.executor));
+			}
+		}
+
+	}
+
+	/**
+	 * Les résultats sont restitués dans l'ordre de fin de conversion
+	 */
+	private static final class UnorderedIterator<F, T> implements Iterator<T> {
+
+		private final Iterator<F> source;
+		private final Function<? super F, ? extends T> converter;
+		private final Executor executor;
+		private final int maxInFlight;
+		private final BlockingQueue<CompletableFuture<T>> completed = new LinkedBlockingQueue<>();
+		private int inFlight = 0;
+
+		private UnorderedIterator(Iterator<F> source, Function<? super F, ? extends T> converter, Executor executor, int maxInFlight) {
+			this.source = source;
+			this.converter = converter;
+			this.executor = executor;
+			this.maxInFlight = maxInFlight;
+		}
+
+		@Override
+		public boolean hasNext() {
+			this.fill();
+			return this.inFlight > 0;
+		}
+
+		@Override
+		public T next() {
+			if (!this.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			try {
+				CompletableFuture<T> future = this.completed.take();
+				this.inFlight--;
+				return join(future);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for conversion", e);
+			}
+		}
+
+		private void fill() {
+			while (this.inFlight < this.maxInFlight && this.source.hasNext()) {
+				F value = this.source.next();
+				CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> this.converter.apply(value), this.executor);
+				future.whenComplete((result, error) -> this.completed.add(future));
+				this.inFlight++;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.grelu.mapper.core.stream;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Options des conversions en flux (Stream / Iterator)
+ * <p>
+ * En mode parallèle, la source est toujours lue par le thread consommateur (une source JDBC ou fichier n'a pas à être thread-safe),
+ * seules les conversions sont déléguées à l'exécuteur, avec au plus {@code maxInFlight} conversions en cours.
+ * La mémoire consommée reste donc bornée, quelle que soit la taille de la source.
+ *
+ * @author Dorian GRELU
+ */
+public final class StreamOptions {
+
+	private static final StreamOptions SEQUENTIAL = new StreamOptions(1, true, null);
+
+	private final int maxInFlight;
+
+	private final boolean ordered;
+
+	private final Executor executor;
+
+	private StreamOptions(int maxInFlight, boolean ordered, Executor executor) {
+		this.maxInFlight = maxInFlight;
+		this.ordered = ordered;
+		this.executor = executor;
+	}
+
+	/**
+	 * Conversion paresseuse, élément par élément, dans le thread consommateur
+	 */
+	public static StreamOptions sequential() {
+		return SEQUENTIAL;
+	}
+
+	/**
+	 * Conversion parallèle bornée
+	 *
+	 * @param maxInFlight nombre maximum de conversions en cours
+	 * @param ordered     conserver l'ordre de la source ? Sinon les éléments sont restitués dès qu'ils sont convertis
+	 * @return options
+	 */
+	public static StreamOptions parallel(int maxInFlight, boolean ordered) {
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException("maxInFlight must be greater than 0");
+		}
+		return new StreamOptions(maxInFlight, ordered, null);
+	}
+
+	/**
+	 * Force l'exécuteur utilisé, par défaut celui de la stratégie d'exécution du wrapper / conteneur
+	 *
+	 * @param executor exécuteur
+	 * @return nouvelles options
+	 */
+	public StreamOptions withExecutor(Executor executor) {
+		return new StreamOptions(this.maxInFlight, this.ordered, executor);
+	}
+
+	public boolean isParallel() {
+		return this.maxInFlight > 1;
+	}
+
+	public int getMaxInFlight() {
+		return this.maxInFlight;
+	}
+
+	public boolean isOrdered() {
+		return this.ordered;
+	}
+
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+}
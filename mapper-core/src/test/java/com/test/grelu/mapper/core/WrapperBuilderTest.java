@@ -2,19 +2,52 @@ package com.test.grelu.mapper.core;
 
 
 
+import com.grelu.mapper.core.CustomModelMapper;
 import com.grelu.mapper.core.ObjectWrapper;
 import com.grelu.mapper.core.builder.WrapperBuilder;
+import com.grelu.mapper.core.cache.ConversionCache;
+import com.grelu.mapper.core.engine.WarmUpReport;
+import com.grelu.mapper.core.execution.BatchConversionException;
+import com.grelu.mapper.core.execution.BatchResult;
+import com.grelu.mapper.core.execution.ExecutionStrategy;
+import com.grelu.mapper.core.helper.IdentityScope;
+import com.grelu.mapper.core.metrics.WrapperInstrumentation;
+import com.grelu.mapper.core.resolver.ModelMapperRegistry;
+import com.grelu.mapper.core.stream.StreamOptions;
+import com.test.grelu.mapper.core.mock.CustomerDomainMock;
+import com.test.grelu.mapper.core.mock.CustomerEntityMock;
 import com.test.grelu.mapper.core.mock.DomainMock;
 import com.test.grelu.mapper.core.mock.EntityMock;
 import com.test.grelu.mapper.core.mock.InheritedDomainMock;
+import com.test.grelu.mapper.core.mock.OrderDomainMock;
+import com.test.grelu.mapper.core.mock.OrderEntityMock;
 import org.junit.jupiter.api.Test;
+import org.modelmapper.convention.MatchingStrategies;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -68,6 +101,30 @@ public class WrapperBuilderTest {
 		assertThat(en.lastname).isEqualTo("jean");
 	}
 
+	@Test
+	public void testEntityMapperFailureIsIgnored() {
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.addEntityMapper(o -> {
+					o.lastname = o.lastname + "-first";
+					return o;
+				})
+				.addEntityMapper(o -> {
+					throw new IllegalArgumentException("Mapper failure");
+				})
+				.addEntityMapper(o -> {
+					o.lastname = o.lastname + "-last";
+					return o;
+				})
+				.build();
+
+		EntityMock en = new EntityMock();
+		en.lastname = "jean";
+
+		EntityMock enm = wrapper.mapEntity(en);
+		assertThat(enm).isNotSameAs(en);
+		assertThat(enm.lastname).isEqualTo("jean-first-last");
+		assertThat(en.lastname).isEqualTo("jean");
+	}
 
 	@Test
 	public void testEntityMapperToList() {
@@ -104,6 +161,48 @@ public class WrapperBuilderTest {
 	}
 
 
+	@Test
+	public void testBatchMapper() {
+		List<Integer> chunks = Collections.synchronizedList(new ArrayList<>());
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class)
+				.setBatchChunkSize(2)
+				.setDataConverter(context -> {
+					DomainMock domain = new DomainMock();
+					domain.lastname = context.getValue().lastname;
+					return domain;
+				})
+				.addDataMapper(o -> {
+					o.lastname = o.lastname.toUpperCase();
+					return o;
+				})
+				.addDataBatchMapper(batch -> {
+					chunks.add(batch.size());
+					batch.forEach(o -> o.age = batch.size());
+					return batch;
+				})
+				.addDataBatchMapper(batch -> {
+					throw new IllegalStateException("lookup failed");
+				})
+				.build();
+
+		List<DomainMock> domains = wrapper.toDatas(Stream.of("a", "b", "c", "d", "e").map(name -> {
+			EntityMock entity = new EntityMock();
+			entity.lastname = name;
+			return entity;
+		}).toList());
+
+		assertThat(domains).extracting(d -> d.lastname).containsExactly("A", "B", "C", "D", "E");
+		assertThat(domains).extracting(d -> d.age).containsExactly(2, 2, 2, 2, 1);
+		assertThat(chunks).containsExactlyInAnyOrder(2, 2, 1);
+
+		chunks.clear();
+		EntityMock entity = new EntityMock();
+		entity.lastname = "f";
+		assertThat(wrapper.toData(entity).age).isEqualTo(1);
+		assertThat(chunks).containsExactly(1);
+		assertThatThrownBy(() -> WrapperBuilder.getInstance().setBatchChunkSize(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
 	@Test
 	public void testConverterSingleEntityDomain() {
 		WrapperBuilder<EntityMock, DomainMock> wrapperBuilder = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class);
@@ -200,6 +299,680 @@ public class WrapperBuilderTest {
 		assertThat(entities.get(1)).satisfies(this::isEntity);
 	}
 
+	@Test
+	public void testContextParameters() {
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.setDataConverter(context -> {
+					DomainMock domain = new DomainMock();
+					domain.firstname = (String) context.getParameter("prefix").orElse("") + context.getValue().firstname;
+					return domain;
+				})
+				.build();
+
+		EntityMock entity = new EntityMock();
+		entity.firstname = "eric";
+
+		wrapper.setContextParameters(Map.of("prefix", "m."));
+		assertThat(wrapper.toDatas(Arrays.asList(entity, entity, entity)))
+				.extracting(domain -> domain.firstname)
+				.containsOnly("m.eric");
+
+		wrapper.setContextParameters(Map.of("prefix", "mme."));
+		assertThat(wrapper.toData(entity).firstname).isEqualTo("mme.eric");
+
+		wrapper.setContextParameters(Map.of());
+		assertThat(wrapper.toData(entity).firstname).isEqualTo("eric");
+	}
+
+	@Test
+	public void testExecutionStrategies() {
+		List<EntityMock> entities = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			EntityMock entity = new EntityMock();
+			entity.firstname = "eric" + i;
+			entities.add(entity);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (ExecutionStrategy strategy : Arrays.asList(ExecutionStrategy.sequential(), ExecutionStrategy.forkJoin(2, 0), ExecutionStrategy.executor(executor, 10))) {
+				try (strategy) {
+					ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+							.setExecutionStrategy(strategy)
+							.setDataConverter(context -> {
+								DomainMock domain = new DomainMock();
+								domain.firstname = context.getValue().firstname;
+								return domain;
+							})
+							.build();
+
+					List<DomainMock> domains = wrapper.toDatas(entities);
+					assertThat(domains).hasSize(100);
+					for (int i = 0; i < 100; i++) {
+						assertThat(domains.get(i).firstname).isEqualTo("eric" + i);
+					}
+				}
+			}
+			assertThat(executor.isShutdown()).isFalse(); // Exécuteur fourni par l'appelant : jamais arrêté par la stratégie
+		} finally {
+			executor.shutdown();
+		}
+
+		ExecutionStrategy owned = ExecutionStrategy.forkJoin(1);
+		owned.close();
+		assertThat(((ForkJoinPool) owned.executor()).isShutdown()).isTrue();
+	}
+
+	@Test
+	public void testBatchConversionFailures() {
+		List<EntityMock> entities = new LinkedList<>();
+		for (int i = 0; i < 100; i++) {
+			EntityMock entity = new EntityMock();
+			entity.firstname = i % 40 == 3 ? null : "eric" + i;
+			entities.add(entity);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (ExecutionStrategy strategy : Arrays.asList(ExecutionStrategy.sequential(), ExecutionStrategy.forkJoin(4, 8), ExecutionStrategy.executor(executor, 10))) {
+				try (strategy) {
+					ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+							.setExecutionStrategy(strategy)
+							.setDataConverter(context -> {
+								DomainMock domain = new DomainMock();
+								domain.firstname = context.getValue().firstname.toUpperCase();
+								return domain;
+							})
+							.build();
+
+					assertThat(wrapper.toDatas(entities.subList(4, 40))).extracting(d -> d.firstname).first().isEqualTo("ERIC4");
+					assertThatThrownBy(() -> wrapper.toDatas(entities))
+							.isInstanceOfSatisfying(BatchConversionException.class, e -> {
+								assertThat(e.getFailedIndices()).containsExactly(3, 43, 83);
+								assertThat(e.getSize()).isEqualTo(100);
+								assertThat(e).hasRootCauseInstanceOf(NullPointerException.class);
+							});
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testPartialBatchResult() {
+		EntityMock failing = new EntityMock();
+		EntityMock valid = new EntityMock();
+		valid.firstname = "eric";
+
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.setIdentityScoped(true)
+				.setDataConverter(context -> {
+					DomainMock domain = new DomainMock();
+					domain.firstname = context.getValue().firstname.toUpperCase();
+					return domain;
+				})
+				.addDataBatchMapper(batch -> {
+					batch.forEach(d -> d.age = batch.size());
+					return batch;
+				})
+				.build();
+
+		BatchResult<DomainMock> result = wrapper.tryToDatas(List.of(valid, failing, valid, failing));
+		assertThat(result.hasFailures()).isTrue();
+		assertThat(result.getFailedIndices()).containsExactly(1, 3);
+		assertThat(result.getResults()).hasSize(4).containsNull();
+		assertThat(result.getSucceeded()).extracting(d -> d.firstname).containsExactly("ERIC", "ERIC");
+		assertThat(result.getSucceeded()).extracting(d -> d.age).containsExactly(1, 1);
+		assertThatThrownBy(result::orElseThrow).isInstanceOf(BatchConversionException.class);
+
+		assertThat(wrapper.tryToDatas(List.of(valid)).hasFailures()).isFalse();
+	}
+
+	@Test
+	public void testCompiledMappingEngine() {
+		ObjectWrapper<EntityMock, InheritedDomainMock> wrapper = WrapperBuilder.getInstance(EntityMock.class, InheritedDomainMock.class)
+				.useCompiledMappingEngine()
+				.build();
+
+		EntityMock entity = new EntityMock();
+		entity.firstname = "eric";
+		entity.lastname = "pierre";
+		entity.birthday = new Date();
+
+		InheritedDomainMock domain = wrapper.toData(entity);
+		assertThat(domain.firstname).isEqualTo("eric");
+		assertThat(domain.lastname).isEqualTo("pierre");
+		assertThat(domain.age).isNull();
+		assertThat(domain.family).isNull();
+
+		domain.lastname = "jean";
+		EntityMock converted = wrapper.toEntity(domain);
+		assertThat(converted.firstname).isEqualTo("eric");
+		assertThat(converted.lastname).isEqualTo("jean");
+		assertThat(converted.birthday).isNull();
+
+		// Collection de types différents : convertie élément par élément, rien n'est partagé avec la source
+		CustomerEntityMock customer = new CustomerEntityMock();
+		customer.name = "dupont";
+		OrderEntityMock order = new OrderEntityMock();
+		order.reference = "order-1";
+		customer.orders.add(order);
+		CustomerDomainMock customerDomain = WrapperBuilder.getInstance(CustomerEntityMock.class, CustomerDomainMock.class)
+				.useCompiledMappingEngine()
+				.build()
+				.toData(customer);
+		assertThat(customerDomain.name).isEqualTo("dupont");
+		assertThat(customerDomain.orders).isNotSameAs(customer.orders).hasSize(1);
+		assertThat(customerDomain.orders.get(0)).isInstanceOf(OrderDomainMock.class);
+		assertThat(customerDomain.orders.get(0).reference).isEqualTo("order-1");
+	}
+
+	@Test
+	public void testInPlaceUpdate() {
+		for (WrapperBuilder<EntityMock, DomainMock> builder : List.of(WrapperBuilder.getInstance(EntityMock.class, DomainMock.class),
+				WrapperBuilder.getInstance(EntityMock.class, DomainMock.class).useCompiledMappingEngine())) {
+			ObjectWrapper<EntityMock, DomainMock> wrapper = builder.build();
+			DomainMock patch = new DomainMock();
+			patch.lastname = "jean";
+
+			EntityMock entity = new EntityMock();
+			entity.firstname = "eric";
+			entity.lastname = "pierre";
+			assertThat(wrapper.updateEntity(patch, entity, true)).isSameAs(entity);
+			assertThat(entity.firstname).isEqualTo("eric");
+			assertThat(entity.lastname).isEqualTo("jean");
+
+			assertThat(wrapper.updateEntity(patch, entity)).isSameAs(entity);
+			assertThat(entity.firstname).isNull();
+		}
+
+		ObjectWrapper<EntityMock, DomainMock> custom = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class)
+				.setDataConverter(context -> {
+					DomainMock domain = context.getTarget().orElseGet(DomainMock::new);
+					domain.firstname = context.getValue().firstname;
+					return domain;
+				})
+				.addDataMapper(d -> {
+					d.age = 30;
+					return d;
+				})
+				.build();
+		EntityMock entity = new EntityMock();
+		entity.firstname = "eric";
+		DomainMock existing = new DomainMock();
+		existing.lastname = "pierre";
+		assertThat(custom.updateData(entity, existing)).isSameAs(existing);
+		assertThat(existing.firstname).isEqualTo("eric");
+		assertThat(existing.lastname).isEqualTo("pierre");
+		assertThat(existing.age).isEqualTo(30);
+		assertThatThrownBy(() -> custom.updateData(entity, null)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testWarmUp() {
+		CustomModelMapper modelMapper = new CustomModelMapper();
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.getInstance(modelMapper, EntityMock.class, DomainMock.class)
+				.setEntityConverter(context -> new EntityMock())
+				.setWarmUp(true)
+				.build();
+
+		assertThat(modelMapper.getTypeMap(EntityMock.class, DomainMock.class)).isNotNull();
+		assertThat(modelMapper.getTypeMap(DomainMock.class, EntityMock.class)).isNull();
+
+		WarmUpReport report = wrapper.warmUp();
+		assertThat(report.hasFailures()).isFalse();
+		assertThat(report.getResults()).singleElement().satisfies(result -> {
+			assertThat(result.source()).isEqualTo(EntityMock.class);
+			assertThat(result.unmappedProperties()).contains("age");
+		});
+	}
+
+	@Test
+	public void testSharedModelMapper() {
+		ModelMapperRegistry registry = new ModelMapperRegistry()
+				.configure("strict", configuration -> configuration.setMatchingStrategy(MatchingStrategies.STRICT));
+		ObjectWrapper<EntityMock, DomainMock> first = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class)
+				.setModelMapperRegistry(registry)
+				.build();
+		ObjectWrapper<EntityMock, InheritedDomainMock> second = WrapperBuilder.getInstance(EntityMock.class, InheritedDomainMock.class)
+				.setModelMapperRegistry(registry)
+				.build();
+
+		EntityMock entity = new EntityMock();
+		entity.firstname = "eric";
+		first.toData(entity);
+		ModelMapperRegistry.Stats stats = registry.stats();
+		assertThat(stats.mappers()).isEqualTo(1);
+		first.toData(entity);
+		assertThat(registry.stats()).isEqualTo(stats);
+		second.toData(entity);
+		assertThat(registry.stats().mappers()).isEqualTo(1);
+		assertThat(registry.stats().typeMaps()).isGreaterThan(stats.typeMaps());
+
+		ObjectWrapper<EntityMock, DomainMock> strict = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class)
+				.setModelMapperRegistry(registry)
+				.setModelMapperProfile("strict")
+				.build();
+		assertThat(strict.toData(entity).firstname).isEqualTo("eric");
+		assertThat(registry.stats().mappers()).isEqualTo(2);
+		assertThat(registry.get("strict")).isNotSameAs(registry.get());
+		assertThatThrownBy(() -> registry.get("unknown")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> registry.configure("strict", configuration -> {
+		})).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	public void testStreamConversion() {
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.setDataConverter(context -> {
+					DomainMock domain = new DomainMock();
+					domain.firstname = context.getValue().firstname;
+					return domain;
+				})
+				.build();
+
+		Stream<EntityMock> source = IntStream.range(0, 1000).mapToObj(i -> {
+			EntityMock entity = new EntityMock();
+			entity.firstname = "eric" + i;
+			return entity;
+		});
+		List<String> expected = IntStream.range(0, 1000).mapToObj(i -> "eric" + i).toList();
+
+		assertThat(wrapper.toDataStream(source).map(domain -> domain.firstname)).containsExactlyElementsOf(expected);
+
+		Iterator<EntityMock> ordered = IntStream.range(0, 1000).mapToObj(i -> {
+			EntityMock entity = new EntityMock();
+			entity.firstname = "eric" + i;
+			return entity;
+		}).iterator();
+		List<String> orderedResult = new ArrayList<>();
+		wrapper.toDataIterator(ordered, StreamOptions.parallel(8, true)).forEachRemaining(domain -> orderedResult.add(domain.firstname));
+		assertThat(orderedResult).containsExactlyElementsOf(expected);
+
+		Stream<EntityMock> unordered = IntStream.range(0, 1000).mapToObj(i -> {
+			EntityMock entity = new EntityMock();
+			entity.firstname = "eric" + i;
+			return entity;
+		});
+		assertThat(wrapper.toDataStream(unordered, StreamOptions.parallel(8, false)).map(domain -> domain.firstname))
+				.containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	@Test
+	public void testPublisherConversion() throws InterruptedException {
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.setDataConverter(context -> {
+					if ("fail".equals(context.getValue().firstname)) {
+						throw new IllegalArgumentException("fail");
+					}
+					DomainMock domain = new DomainMock();
+					domain.firstname = context.getValue().firstname;
+					return domain;
+				})
+				.build();
+
+		List<String> received = new ArrayList<>();
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		CountDownLatch done = new CountDownLatch(1);
+		Flow.Subscriber<DomainMock> subscriber = new Flow.Subscriber<>() {
+			private Flow.Subscription subscription;
+
+			@Override
+			public void onSubscribe(Flow.Subscription subscription) {
+				this.subscription = subscription;
+				subscription.request(2);
+			}
+
+			@Override
+			public void onNext(DomainMock item) {
+				received.add(item.firstname);
+				if (received.size() % 2 == 0) {
+					this.subscription.request(2);
+				}
+			}
+
+			@Override
+			public void onError(Throwable throwable) {
+				error.set(throwable);
+				done.countDown();
+			}
+
+			@Override
+			public void onComplete() {
+				done.countDown();
+			}
+		};
+
+		try (SubmissionPublisher<EntityMock> publisher = new SubmissionPublisher<>()) {
+			wrapper.toDataPublisher(publisher, StreamOptions.parallel(4, true)).subscribe(subscriber);
+			for (int i = 0; i < 100; i++) {
+				EntityMock entity = new EntityMock();
+				entity.firstname = "eric" + i;
+				publisher.submit(entity);
+			}
+		}
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(error.get()).isNull();
+		assertThat(received).containsExactlyElementsOf(IntStream.range(0, 100).mapToObj(i -> "eric" + i).toList());
+
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		CountDownLatch failed = new CountDownLatch(1);
+		try (SubmissionPublisher<EntityMock> publisher = new SubmissionPublisher<>()) {
+			wrapper.toDataPublisher(publisher).subscribe(new Flow.Subscriber<>() {
+				@Override
+				public void onSubscribe(Flow.Subscription subscription) {
+					subscription.request(Long.MAX_VALUE);
+				}
+
+				@Override
+				public void onNext(DomainMock item) {
+				}
+
+				@Override
+				public void onError(Throwable throwable) {
+					failure.set(throwable);
+					failed.countDown();
+				}
+
+				@Override
+				public void onComplete() {
+					failed.countDown();
+				}
+			});
+			EntityMock entity = new EntityMock();
+			entity.firstname = "fail";
+			publisher.submit(entity);
+		}
+		assertThat(failed.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(failure.get()).isInstanceOf(IllegalStateException.class).hasRootCauseInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void testPublisherMaxInFlight() throws InterruptedException {
+		int maxInFlight = 3;
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.setDataConverter(context -> {
+					LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+					return new DomainMock();
+				})
+				.build();
+
+		// Demande en amont non encore émise en aval : ne doit jamais dépasser maxInFlight
+		AtomicLong requested = new AtomicLong();
+		AtomicLong delivered = new AtomicLong();
+		AtomicLong maxPending = new AtomicLong();
+		CountDownLatch done = new CountDownLatch(1);
+		try (SubmissionPublisher<EntityMock> publisher = new SubmissionPublisher<>()) {
+			Flow.Publisher<EntityMock> source = subscriber -> publisher.subscribe(new Flow.Subscriber<>() {
+				@Override
+				public void onSubscribe(Flow.Subscription subscription) {
+					subscriber.onSubscribe(new Flow.Subscription() {
+						@Override
+						public void request(long n) {
+							maxPending.accumulateAndGet(requested.addAndGet(n) - delivered.get(), Math::max);
+							subscription.request(n);
+						}
+
+						@Override
+						public void cancel() {
+							subscription.cancel();
+						}
+					});
+				}
+
+				@Override
+				public void onNext(EntityMock item) {
+					subscriber.onNext(item);
+				}
+
+				@Override
+				public void onError(Throwable throwable) {
+					subscriber.onError(throwable);
+				}
+
+				@Override
+				public void onComplete() {
+					subscriber.onComplete();
+				}
+			});
+			wrapper.toDataPublisher(source, StreamOptions.parallel(maxInFlight, false)).subscribe(new Flow.Subscriber<>() {
+				@Override
+				public void onSubscribe(Flow.Subscription subscription) {
+					subscription.request(Long.MAX_VALUE);
+				}
+
+				@Override
+				public void onNext(DomainMock item) {
+					delivered.incrementAndGet();
+				}
+
+				@Override
+				public void onError(Throwable throwable) {
+					done.countDown();
+				}
+
+				@Override
+				public void onComplete() {
+					done.countDown();
+				}
+			});
+			for (int i = 0; i < 500; i++) {
+				publisher.submit(new EntityMock());
+			}
+		}
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(delivered).hasValue(500);
+		assertThat(maxPending.get()).isLessThanOrEqualTo(maxInFlight);
+	}
+
+	@Test
+	public void testIdentityScope() {
+		AtomicInteger conversions = new AtomicInteger();
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.setIdentityScoped(true)
+				.setDataConverter(context -> {
+					conversions.incrementAndGet();
+					return context.useDefaultModelMapper();
+				})
+				.build();
+
+		EntityMock shared = new EntityMock();
+		shared.firstname = "eric";
+		EntityMock other = new EntityMock();
+		other.firstname = "jacques";
+		List<EntityMock> entities = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			entities.add(i % 2 == 0 ? shared : other);
+		}
+
+		List<DomainMock> domains = wrapper.toDatas(entities);
+
+		assertThat(conversions).hasValue(2);
+		assertThat(domains).hasSize(50);
+		assertThat(domains.get(0)).isSameAs(domains.get(2));
+		assertThat(domains.get(1).firstname).isEqualTo("jacques");
+		assertThat(wrapper.toDatas(List.of(shared)).get(0)).isNotSameAs(domains.get(0)); // Aucun partage entre deux appels
+	}
+
+	@Test
+	public void testIdentityScopeNestedObjects() {
+		CustomerEntityMock customer = new CustomerEntityMock();
+		customer.name = "dupont";
+		List<OrderEntityMock> orders = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			OrderEntityMock order = new OrderEntityMock();
+			order.reference = "order-" + i;
+			order.customer = customer;
+			orders.add(order);
+		}
+
+		// Sous-objet partagé entre les éléments du lot : converti une seule fois via le scope
+		ObjectWrapper<OrderEntityMock, OrderDomainMock> wrapper = WrapperBuilder.<OrderEntityMock, OrderDomainMock>getInstance(OrderEntityMock.class, OrderDomainMock.class)
+				.setIdentityScoped(true)
+				.setDataConverter(context -> {
+					OrderDomainMock order = new OrderDomainMock();
+					order.reference = context.getValue().reference;
+					order.customer = context.convertNested(context.getValue().customer, CustomerDomainMock.class);
+					return order;
+				})
+				.build();
+		List<OrderDomainMock> domains = wrapper.toDatas(orders);
+		assertThat(domains).extracting(order -> order.customer).containsOnly(domains.get(0).customer);
+		assertThat(domains.get(9).customer.name).isEqualTo("dupont");
+
+		// Graphe cyclique : la cible est enregistrée avant la conversion des enfants, la référence au parent est retrouvée
+		customer.orders.addAll(orders);
+		ObjectWrapper<CustomerEntityMock, CustomerDomainMock> cyclic = WrapperBuilder.<CustomerEntityMock, CustomerDomainMock>getInstance(CustomerEntityMock.class, CustomerDomainMock.class)
+				.setIdentityScoped(true)
+				.setDataConverter(context -> {
+					IdentityScope scope = context.getIdentityScope().orElseThrow();
+					CustomerDomainMock converted = new CustomerDomainMock();
+					converted.name = context.getValue().name;
+					scope.put(context.getValue(), CustomerDomainMock.class, converted);
+					for (OrderEntityMock order : context.getValue().orders) {
+						OrderDomainMock child = new OrderDomainMock();
+						child.reference = order.reference;
+						child.customer = scope.get(order.customer, CustomerDomainMock.class);
+						converted.orders.add(child);
+					}
+					return converted;
+				})
+				.build();
+		CustomerDomainMock converted = cyclic.toData(customer);
+		assertThat(converted.orders).hasSize(10).allSatisfy(order -> assertThat(order.customer).isSameAs(converted));
+
+		// Moteur par défaut : ModelMapper partage les sous-objets et résout le cycle au sein d'un même élément
+		ObjectWrapper<CustomerEntityMock, CustomerDomainMock> defaultEngine = WrapperBuilder.getInstance(CustomerEntityMock.class, CustomerDomainMock.class)
+				.setIdentityScoped(true)
+				.build();
+		CustomerDomainMock mapped = defaultEngine.toData(customer);
+		assertThat(mapped.orders).hasSize(10).allSatisfy(order -> assertThat(order.customer).isSameAs(mapped));
+
+		// Moteur par défaut sur un lot : les éléments sont convertis en un seul appel, le client commun est partagé entre eux
+		ObjectWrapper<OrderEntityMock, OrderDomainMock> defaultBatch = WrapperBuilder.getInstance(OrderEntityMock.class, OrderDomainMock.class)
+				.setIdentityScoped(true)
+				.build();
+		List<OrderDomainMock> mappedOrders = defaultBatch.toDatas(orders);
+		CustomerDomainMock sharedCustomer = mappedOrders.get(0).customer;
+		assertThat(mappedOrders).hasSize(10).allSatisfy(order -> assertThat(order.customer).isSameAs(sharedCustomer));
+		assertThat(sharedCustomer.orders).hasSize(10);
+		for (int i = 0; i < 10; i++) {
+			assertThat(sharedCustomer.orders.get(i)).isSameAs(mappedOrders.get(i));
+		}
+	}
+
+	@Test
+	public void testConversionCache() {
+		AtomicLong time = new AtomicLong();
+		ConversionCache<DomainMock, EntityMock> cache = ConversionCache.<DomainMock, EntityMock>builder()
+				.maximumSize(2)
+				.expireAfterWrite(Duration.ofSeconds(10))
+				.keyExtractor(domain -> domain.firstname)
+				.ticker(time::get)
+				.build();
+		AtomicInteger conversions = new AtomicInteger();
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.setEntityCache(cache)
+				.setEntityConverter(context -> {
+					conversions.incrementAndGet();
+					EntityMock entity = new EntityMock();
+					entity.firstname = context.getValue().firstname;
+					return entity;
+				})
+				.build();
+
+		DomainMock france = new DomainMock();
+		france.firstname = "FR";
+		DomainMock sameKey = new DomainMock();
+		sameKey.firstname = "FR";
+
+		EntityMock first = wrapper.toEntity(france);
+		first.firstname = "corrupted";
+		EntityMock second = wrapper.toEntity(sameKey);
+
+		assertThat(second.firstname).isEqualTo("FR"); // Copie du PureObject : le cache n'est pas altéré
+		assertThat(conversions).hasValue(1);
+		assertThat(cache.stats().hits()).isEqualTo(1);
+		assertThat(cache.stats().misses()).isEqualTo(1);
+
+		wrapper.toEntity(france, false); // Sans mappers : le cache n'est pas utilisé
+		assertThat(conversions).hasValue(2);
+
+		time.addAndGet(Duration.ofSeconds(11).toNanos());
+		wrapper.toEntity(france);
+		assertThat(conversions).hasValue(3);
+
+		for (String code : List.of("BE", "DE", "IT")) {
+			DomainMock other = new DomainMock();
+			other.firstname = code;
+			wrapper.toEntity(other);
+		}
+		assertThat(cache.stats().size()).isEqualTo(2);
+		assertThat(cache.stats().evictions()).isEqualTo(3);
+
+		// Les mappers par lot sont appliqués une fois sur la liste, après le cache
+		List<Integer> chunks = Collections.synchronizedList(new ArrayList<>());
+		ObjectWrapper<EntityMock, DomainMock> batched = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class)
+				.setDataCache(ConversionCache.<EntityMock, DomainMock>builder().build())
+				.setDataConverter(context -> context.useDefaultModelMapper())
+				.addDataBatchMapper(batch -> {
+					chunks.add(batch.size());
+					return batch;
+				})
+				.build();
+		List<EntityMock> entities = IntStream.range(0, 5).mapToObj(i -> new EntityMock()).toList();
+		assertThat(batched.toDatas(entities)).hasSize(5);
+		assertThat(batched.toDatas(entities)).hasSize(5);
+		assertThat(chunks).containsExactly(5, 5);
+
+		// Sans durée de vie, un ticker négatif (System.nanoTime le permet) n'expire pas les entrées
+		ConversionCache<String, String> eternal = ConversionCache.<String, String>builder()
+				.ticker(() -> -1000L)
+				.build();
+		eternal.get("FR", String.class, String::toLowerCase);
+		eternal.get("FR", String.class, String::toLowerCase);
+		assertThat(eternal.stats().hits()).isEqualTo(1);
+		assertThat(eternal.stats().evictions()).isZero();
+	}
+
+	@Test
+	public void testInstrumentation() {
+		List<String> events = Collections.synchronizedList(new ArrayList<>());
+		WrapperInstrumentation instrumentation = new WrapperInstrumentation() {
+			@Override
+			public void onConversion(String wrapper, Operation operation, long durationNanos, boolean failed) {
+				events.add(wrapper + " " + operation + " " + failed);
+			}
+
+			@Override
+			public void onBatch(String wrapper, Operation operation, int size, long durationNanos, boolean failed) {
+				events.add(wrapper + " " + operation + " batch " + size);
+			}
+
+			@Override
+			public void onMapperFailure(String wrapper, Exception exception) {
+				events.add(wrapper + " failure " + exception.getMessage());
+			}
+		};
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class)
+				.setInstrumentation(instrumentation)
+				.addEntityMapper(entity -> {
+					throw new IllegalStateException("boom");
+				})
+				.build();
+
+		wrapper.toData(new EntityMock());
+		wrapper.toDatas(List.of(new EntityMock(), new EntityMock()));
+		wrapper.mapEntity(new EntityMock());
+
+		assertThat(events).containsExactly(
+				"EntityMock:DomainMock TO_DATA false",
+				"EntityMock:DomainMock TO_DATA batch 2",
+				"EntityMock:DomainMock failure boom",
+				"EntityMock:DomainMock MAP_ENTITY false");
+	}
+
 	@Test
 	public void testResolvable() {
 		WrapperBuilder<EntityMock, DomainMock> wrapperBuilderWithoutCustom = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class);
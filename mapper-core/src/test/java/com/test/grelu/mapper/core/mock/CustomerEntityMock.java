@@ -0,0 +1,12 @@
+package com.test.grelu.mapper.core.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CustomerEntityMock {
+
+	public String name;
+
+	public List<OrderEntityMock> orders = new ArrayList<>();
+
+}
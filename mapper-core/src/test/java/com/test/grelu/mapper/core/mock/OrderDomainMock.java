@@ -0,0 +1,9 @@
+package com.test.grelu.mapper.core.mock;
+
+public class OrderDomainMock {
+
+	public String reference;
+
+	public CustomerDomainMock customer;
+
+}
@@ -0,0 +1,9 @@
+package com.test.grelu.mapper.core.mock;
+
+public class OrderEntityMock {
+
+	public String reference;
+
+	public CustomerEntityMock customer;
+
+}
@@ -0,0 +1,139 @@
+package com.grelu.mapper.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Découverte des propriétés lisibles / modifiables d'un type, depuis le package de la classe générée
+ * <p>
+ * Mêmes règles que le moteur compilé : noms comparés sans tenir compte de la casse, getter / setter publics prioritaires sur les champs.
+ *
+ * @author Dorian GRELU
+ */
+final class TypeProperties {
+
+	record Property(String name, TypeMirror type, String accessor, boolean method) {
+	}
+
+	private final ProcessingEnvironment environment;
+
+	private final PackageElement generatedPackage;
+
+	TypeProperties(ProcessingEnvironment environment, PackageElement generatedPackage) {
+		this.environment = environment;
+		this.generatedPackage = generatedPackage;
+	}
+
+	Map<String, Property> readers(TypeElement type) {
+		DeclaredType declaredType = (DeclaredType) type.asType();
+		Map<String, Property> readers = new LinkedHashMap<>();
+		for (VariableElement field : ElementFilter.fieldsIn(this.environment.getElementUtils().getAllMembers(type))) {
+			if (!field.getModifiers().contains(Modifier.STATIC) && this.isAccessible(field)) {
+				String name = field.getSimpleName().toString();
+				readers.putIfAbsent(key(name), new Property(name, this.memberType(declaredType, field), name, false));
+			}
+		}
+		for (ExecutableElement method : ElementFilter.methodsIn(this.environment.getElementUtils().getAllMembers(type))) {
+			if (!this.isInstanceMethod(method) || !method.getParameters().isEmpty()) {
+				continue;
+			}
+			TypeMirror returnType = ((ExecutableType) this.environment.getTypeUtils().asMemberOf(declaredType, method)).getReturnType();
+			String methodName = method.getSimpleName().toString();
+			String name = null;
+			if (methodName.startsWith("get") && methodName.length() > 3 && returnType.getKind() != TypeKind.VOID) {
+				name = decapitalize(methodName.substring(3));
+			} else if (methodName.startsWith("is") && methodName.length() > 2 && this.isBoolean(returnType)) {
+				name = decapitalize(methodName.substring(2));
+			}
+			if (name != null && !"class".equals(name)) {
+				readers.put(key(name), new Property(name, returnType, methodName, true));
+			}
+		}
+		return readers;
+	}
+
+	Map<String, Property> writers(TypeElement type) {
+		DeclaredType declaredType = (DeclaredType) type.asType();
+		Map<String, Property> writers = new LinkedHashMap<>();
+		for (VariableElement field : ElementFilter.fieldsIn(this.environment.getElementUtils().getAllMembers(type))) {
+			if (!field.getModifiers().contains(Modifier.STATIC) && !field.getModifiers().contains(Modifier.FINAL) && this.isAccessible(field)) {
+				String name = field.getSimpleName().toString();
+				writers.putIfAbsent(key(name), new Property(name, this.memberType(declaredType, field), name, false));
+			}
+		}
+		for (ExecutableElement method : ElementFilter.methodsIn(this.environment.getElementUtils().getAllMembers(type))) {
+			String methodName = method.getSimpleName().toString();
+			if (!this.isInstanceMethod(method) || method.getParameters().size() != 1 || !methodName.startsWith("set") || methodName.length() == 3) {
+				continue;
+			}
+			TypeMirror parameterType = ((ExecutableType) this.environment.getTypeUtils().asMemberOf(declaredType, method)).getParameterTypes().get(0);
+			String name = decapitalize(methodName.substring(3));
+			writers.put(key(name), new Property(name, parameterType, methodName, true));
+		}
+		return writers;
+	}
+
+	boolean isInstantiable(TypeElement type) {
+		if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT) || !this.isAccessible(type)) {
+			return false;
+		}
+		if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+			return false;
+		}
+		return ElementFilter.constructorsIn(type.getEnclosedElements())
+				.stream()
+				.anyMatch(constructor -> constructor.getParameters().isEmpty() && this.isAccessible(constructor));
+	}
+
+	boolean isAssignable(TypeMirror from, TypeMirror to) {
+		return this.environment.getTypeUtils().isAssignable(from, to);
+	}
+
+	private boolean isInstanceMethod(ExecutableElement method) {
+		return method.getModifiers().contains(Modifier.PUBLIC)
+				&& !method.getModifiers().contains(Modifier.STATIC)
+				&& !((TypeElement) method.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object");
+	}
+
+	private boolean isBoolean(TypeMirror type) {
+		return type.getKind() == TypeKind.BOOLEAN || type.toString().equals("java.lang.Boolean");
+	}
+
+	private boolean isAccessible(Element element) {
+		if (element.getModifiers().contains(Modifier.PUBLIC)) {
+			return true;
+		}
+		if (element.getModifiers().contains(Modifier.PRIVATE)) {
+			return false;
+		}
+		return this.environment.getElementUtils().getPackageOf(element).equals(this.generatedPackage);
+	}
+
+	private TypeMirror memberType(DeclaredType owner, Element member) {
+		return this.environment.getTypeUtils().asMemberOf(owner, member);
+	}
+
+	static String key(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	private static String decapitalize(String name) {
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.grelu.mapper.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Processeur d'annotations générant les convertisseurs déclarés par {@code @GenerateWrapper}
+ * <p>
+ * Pour chaque couple entité / domaine, une classe finale est générée dans le package du type annoté.
+ * Elle contient des conversions écrites en Java "classique" (getters / setters, champs accessibles) :
+ * aucune réflexion ni création de TypeMap n'est nécessaire à l'exécution.
+ *
+ * @author Dorian GRELU
+ */
+@SupportedAnnotationTypes({WrapperProcessor.ANNOTATION, WrapperProcessor.CONTAINER_ANNOTATION})
+public class WrapperProcessor extends AbstractProcessor {
+
+	static final String ANNOTATION = "com.grelu.mapper.core.annotation.GenerateWrapper";
+
+	static final String CONTAINER_ANNOTATION = "com.grelu.mapper.core.annotation.GenerateWrappers";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		Set<Element> processed = new HashSet<>();
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (processed.add(element)) {
+					for (AnnotationMirror definition : this.definitions(element)) {
+						this.generate(element, definition);
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private List<AnnotationMirror> definitions(Element element) {
+		List<AnnotationMirror> definitions = new ArrayList<>();
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+			if (ANNOTATION.equals(name)) {
+				definitions.add(mirror);
+			} else if (CONTAINER_ANNOTATION.equals(name)) {
+				@SuppressWarnings("unchecked")
+				List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) this.value(mirror, "value");
+				for (AnnotationValue value : values) {
+					definitions.add((AnnotationMirror) value.getValue());
+				}
+			}
+		}
+		return definitions;
+	}
+
+	private void generate(Element element, AnnotationMirror definition) {
+		TypeElement entity = (TypeElement) ((DeclaredType) this.value(definition, "entity")).asElement();
+		TypeElement data = (TypeElement) ((DeclaredType) this.value(definition, "data")).asElement();
+		Object name = this.value(definition, "name");
+
+		String packageName = this.processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+		String simpleName = name == null || name.toString().isEmpty() ?
+				entity.getSimpleName() + "" + data.getSimpleName() + "Wrapper" :
+				name.toString();
+
+		TypeProperties properties = new TypeProperties(this.processingEnv, (PackageElement) this.processingEnv.getElementUtils().getPackageOf(element));
+		if (!properties.isInstantiable(entity) || !properties.isInstantiable(data)) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Wrapper generation requires an accessible no-arg constructor on " + entity.getQualifiedName() + " and " + data.getQualifiedName(),
+					element, definition);
+			return;
+		}
+
+		WrapperSourceWriter sourceWriter = new WrapperSourceWriter(packageName, simpleName, entity, data, properties);
+		String source = sourceWriter.write();
+		for (String warning : sourceWriter.warnings()) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, warning, element, definition);
+		}
+		try {
+			JavaFileObject file = this.processingEnv.getFiler().createSourceFile(packageName.isEmpty() ? simpleName : packageName + "." + simpleName, element);
+			try (Writer writer = file.openWriter()) {
+				writer.write(source);
+			}
+		} catch (IOException e) {
+			this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + simpleName + ": " + e.getMessage(), element, definition);
+		}
+	}
+
+	private Object value(AnnotationMirror mirror, String attribute) {
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+				return entry.getValue().getValue();
+			}
+		}
+		return null;
+	}
+
+}
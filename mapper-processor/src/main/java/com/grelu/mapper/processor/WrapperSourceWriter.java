@@ -0,0 +1,121 @@
+package com.grelu.mapper.processor;
+
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Écriture du code source d'une classe de conversion générée
+ *
+ * @author Dorian GRELU
+ */
+final class WrapperSourceWriter {
+
+	private final String packageName;
+
+	private final String simpleName;
+
+	private final String entity;
+
+	private final String data;
+
+	private final TypeElement entityType;
+
+	private final TypeElement dataType;
+
+	private final TypeProperties properties;
+
+	private final List<String> warnings = new ArrayList<>();
+
+	WrapperSourceWriter(String packageName, String simpleName, TypeElement entityType, TypeElement dataType, TypeProperties properties) {
+		this.packageName = packageName;
+		this.simpleName = simpleName;
+		this.entityType = entityType;
+		this.dataType = dataType;
+		this.entity = entityType.getQualifiedName().toString();
+		this.data = dataType.getQualifiedName().toString();
+		this.properties = properties;
+	}
+
+	String write() {
+		StringBuilder source = new StringBuilder();
+		if (!this.packageName.isEmpty()) {
+			source.append("package ").append(this.packageName).append(";\n\n");
+		}
+		source.append("import com.grelu.mapper.core.builder.WrapperBuilder;\n")
+				.append("import com.grelu.mapper.core.helper.ToDataConverter;\n")
+				.append("import com.grelu.mapper.core.helper.ToEntityConverter;\n\n")
+				.append("/**\n * Convertisseurs générés pour {@link ").append(this.entity).append("} et {@link ").append(this.data).append("}\n */\n")
+				.append("@javax.annotation.processing.Generated(\"").append(WrapperProcessor.class.getName()).append("\")\n")
+				.append("public final class ").append(this.simpleName).append(" {\n\n")
+				.append("\tprivate ").append(this.simpleName).append("() {\n\t}\n\n");
+
+		this.writeConversion(source, "toData", this.entityType, this.dataType);
+		this.writeConversion(source, "toEntity", this.dataType, this.entityType);
+
+		source.append("\tpublic static ToDataConverter<").append(this.entity).append(", ").append(this.data).append("> dataConverter() {\n")
+				.append("\t\treturn context -> toData(context.getValue());\n")
+				.append("\t}\n\n")
+				.append("\tpublic static ToEntityConverter<").append(this.entity).append(", ").append(this.data).append("> entityConverter() {\n")
+				.append("\t\treturn context -> toEntity(context.getValue());\n")
+				.append("\t}\n\n")
+				.append("\t/**\n\t * @return builder préconfiguré avec les convertisseurs générés\n\t */\n")
+				.append("\tpublic static WrapperBuilder<").append(this.entity).append(", ").append(this.data).append("> builder() {\n")
+				.append("\t\treturn WrapperBuilder.<").append(this.entity).append(", ").append(this.data).append(">getInstance(")
+				.append(this.entity).append(".class, ").append(this.data).append(".class)\n")
+				.append("\t\t\t\t.setDataConverter(dataConverter())\n")
+				.append("\t\t\t\t.setEntityConverter(entityConverter());\n")
+				.append("\t}\n\n")
+				.append("}\n");
+		return source.toString();
+	}
+
+	private void writeConversion(StringBuilder source, String methodName, TypeElement from, TypeElement to) {
+		String fromName = from.getQualifiedName().toString();
+		String toName = to.getQualifiedName().toString();
+		source.append("\tpublic static ").append(toName).append(' ').append(methodName).append('(').append(fromName).append(" source) {\n")
+				.append("\t\tif (source == null) {\n\t\t\treturn null;\n\t\t}\n")
+				.append("\t\t").append(toName).append(" target = new ").append(toName).append("();\n");
+
+		Map<String, TypeProperties.Property> readers = this.properties.readers(from);
+		int index = 0;
+		for (Map.Entry<String, TypeProperties.Property> entry : this.properties.writers(to).entrySet()) {
+			TypeProperties.Property reader = readers.get(entry.getKey());
+			TypeProperties.Property writer = entry.getValue();
+			if (reader == null) {
+				continue;
+			}
+			if (!this.properties.isAssignable(reader.type(), writer.type())) { // Même nom mais types incompatibles : signalé à la compilation
+				this.warnings.add("Property " + writer.name() + " of " + toName + " is not mapped: " + reader.type() + " from " + fromName
+						+ " is not assignable to " + writer.type());
+				continue;
+			}
+			String read = "source." + reader.accessor() + (reader.method() ? "()" : "");
+			if (writer.type().getKind().isPrimitive() && !reader.type().getKind().isPrimitive()) { // Un null ne peut pas être affecté à un primitif
+				String variable = "value" + index++;
+				source.append("\t\tvar ").append(variable).append(" = ").append(read).append(";\n")
+						.append("\t\tif (").append(variable).append(" != null) {\n")
+						.append("\t\t\t").append(write(writer, variable)).append(";\n")
+						.append("\t\t}\n");
+			} else {
+				source.append("\t\t").append(write(writer, read)).append(";\n");
+			}
+		}
+		source.append("\t\treturn target;\n\t}\n\n");
+	}
+
+	/**
+	 * @return propriétés cibles ignorées faute de type compatible, une fois {@link #write()} appelé
+	 */
+	List<String> warnings() {
+		return this.warnings;
+	}
+
+	private static String write(TypeProperties.Property writer, String value) {
+		return writer.method() ?
+				"target." + writer.accessor() + "(" + value + ")" :
+				"target." + writer.accessor() + " = " + value;
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.test.grelu.mapper.processor;
+
+import com.grelu.mapper.core.ObjectWrapper;
+import com.test.grelu.mapper.processor.mock.DomainMock;
+import com.test.grelu.mapper.processor.mock.EntityMock;
+import com.test.grelu.mapper.processor.mock.EntityMockDomainMockWrapper;
+import com.test.grelu.mapper.processor.mock.PersonWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WrapperProcessorTest {
+
+	@Test
+	public void testGeneratedConversions() {
+		EntityMock entity = new EntityMock();
+		entity.setFirstname("eric");
+		entity.setLastname("pierre");
+		entity.setAge(30);
+		entity.setBirthday(new Date());
+
+		DomainMock domain = EntityMockDomainMockWrapper.toData(entity);
+		assertThat(domain.firstname).isEqualTo("eric");
+		assertThat(domain.lastname).isEqualTo("pierre");
+		assertThat(domain.age).isEqualTo(30);
+
+		domain.age = null;
+		EntityMock converted = EntityMockDomainMockWrapper.toEntity(domain);
+		assertThat(converted.getFirstname()).isEqualTo("eric");
+		assertThat(converted.getAge()).isZero();
+		assertThat(converted.getBirthday()).isNull();
+
+		assertThat(EntityMockDomainMockWrapper.toData(null)).isNull();
+	}
+
+	@Test
+	public void testGeneratedBuilder() {
+		ObjectWrapper<EntityMock, DomainMock> wrapper = PersonWrapper.builder()
+				.addDataMapper(o -> {
+					o.lastname = o.lastname.toUpperCase();
+					return o;
+				})
+				.build();
+
+		EntityMock entity = new EntityMock();
+		entity.setFirstname("eric");
+		entity.setLastname("pierre");
+
+		DomainMock domain = wrapper.toData(entity);
+		assertThat(domain.firstname).isEqualTo("eric");
+		assertThat(domain.lastname).isEqualTo("PIERRE");
+		assertThat(wrapper.toEntity(domain).getLastname()).isEqualTo("PIERRE");
+	}
+
+}
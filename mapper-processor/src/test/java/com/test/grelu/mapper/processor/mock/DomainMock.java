@@ -0,0 +1,11 @@
+package com.test.grelu.mapper.processor.mock;
+
+public class DomainMock {
+
+	public String firstname;
+
+	public String lastname;
+
+	public Integer age;
+
+}
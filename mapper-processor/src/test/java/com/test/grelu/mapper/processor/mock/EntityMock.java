@@ -0,0 +1,46 @@
+package com.test.grelu.mapper.processor.mock;
+
+import java.util.Date;
+
+public class EntityMock {
+
+	private String firstname;
+
+	private String lastname;
+
+	private int age;
+
+	private Date birthday;
+
+	public String getFirstname() {
+		return firstname;
+	}
+
+	public void setFirstname(String firstname) {
+		this.firstname = firstname;
+	}
+
+	public String getLastname() {
+		return lastname;
+	}
+
+	public void setLastname(String lastname) {
+		this.lastname = lastname;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public void setAge(int age) {
+		this.age = age;
+	}
+
+	public Date getBirthday() {
+		return birthday;
+	}
+
+	public void setBirthday(Date birthday) {
+		this.birthday = birthday;
+	}
+}
@@ -0,0 +1,8 @@
+package com.test.grelu.mapper.processor.mock;
+
+import com.grelu.mapper.core.annotation.GenerateWrapper;
+
+@GenerateWrapper(entity = EntityMock.class, data = DomainMock.class)
+@GenerateWrapper(entity = EntityMock.class, data = DomainMock.class, name = "PersonWrapper")
+public class MappingDefinitions {
+}
@@ -0,0 +1,757 @@
+package com.grelu.mapper.springboot;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat mis à plat stocké par colonnes
+ * <p>
+ * Un seul schéma (noms de colonnes) est partagé par toutes les lignes. Les colonnes dont toutes les valeurs sont des
+ * {@link Integer}, {@link Long}, {@link Double}, {@link Float}, {@link Short}, {@link Byte}, {@link Character} ou {@link Boolean}
+ * sont stockées dans des tableaux primitifs, les autres dans un tableau d'objets. Une colonne absente d'une ligne (types hétérogènes) vaut null.
+ * Les écritures CSV / JSON parcourent directement les colonnes, sans créer de map par ligne.
+ *
+ * @author Dorian GRELU
+ */
+public final class ColumnarBatch {
+
+	private static final ObjectMapper JSON = new ObjectMapper().configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+	private final String[] columns;
+
+	private final Column[] values;
+
+	private final int size;
+
+	private ColumnarBatch(String[] columns, Column[] values, int size) {
+		this.columns = columns;
+		this.values = values;
+		this.size = size;
+	}
+
+	/**
+	 * @param expectedRows nombre de lignes attendu, utilisé pour dimensionner les colonnes
+	 */
+	public static Builder builder(int expectedRows) {
+		return new Builder(expectedRows);
+	}
+
+	/**
+	 * @return nombre de lignes
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return noms des colonnes, dans l'ordre de première apparition
+	 */
+	public List<String> getColumns() {
+		return List.of(this.columns);
+	}
+
+	/**
+	 * @return index de la colonne, -1 si elle n'existe pas
+	 */
+	public int indexOf(String column) {
+		for (int i = 0; i < this.columns.length; i++) {
+			if (this.columns[i].equals(column)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return type de stockage de la colonne : Integer, Long, Double, Float, Short, Byte, Character, Boolean ou Object
+	 */
+	public Class<?> getColumnType(int column) {
+		return this.values[column].type();
+	}
+
+	public Object get(int row, int column) {
+		if (row < 0 || row >= this.size) {
+			throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + this.size);
+		}
+		return this.values[column].get(row);
+	}
+
+	public Object get(int row, String column) {
+		int index = this.indexOf(column);
+		if (index < 0) {
+			throw new IllegalArgumentException("Unknown column " + column);
+		}
+		return this.get(row, index);
+	}
+
+	/**
+	 * Écrit le lot au format CSV (RFC 4180, UTF-8, ligne d'en-tête), le flux n'est pas fermé
+	 * Une valeur nulle est écrite vide, les valeurs imbriquées (objets, collections) en JSON
+	 */
+	public void writeCsv(OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		for (int column = 0; column < this.columns.length; column++) {
+			if (column > 0) {
+				writer.write(',');
+			}
+			writeCsvCell(writer, this.columns[column]);
+		}
+		writer.write("\r\n");
+		for (int row = 0; row < this.size; row++) {
+			for (int column = 0; column < this.columns.length; column++) {
+				if (column > 0) {
+					writer.write(',');
+				}
+				Object value = this.values[column].get(row);
+				if (value instanceof Map<?, ?> || value instanceof Collection<?>) {
+					writeCsvCell(writer, JSON.writeValueAsString(value));
+				} else if (value != null) {
+					writeCsvCell(writer, value.toString());
+				}
+			}
+			writer.write("\r\n");
+		}
+		writer.flush();
+	}
+
+	public void writeCsv(WritableByteChannel channel) throws IOException {
+		this.writeCsv(Channels.newOutputStream(channel));
+	}
+
+	/**
+	 * Écrit le lot au format JSON (tableau d'objets), le flux n'est pas fermé
+	 * Chaque objet porte toutes les colonnes du lot : une valeur nulle, ou absente de la ligne (types hétérogènes), est écrite null.
+	 * Pour des lignes d'un même type, le résultat est donc identique à la sérialisation de la liste de maps
+	 */
+	public void writeJson(OutputStream out) throws IOException {
+		try (JsonGenerator generator = JSON.getFactory().createGenerator(out)) {
+			generator.writeStartArray();
+			for (int row = 0; row < this.size; row++) {
+				generator.writeStartObject();
+				for (int column = 0; column < this.columns.length; column++) {
+					generator.writeFieldName(this.columns[column]);
+					this.values[column].write(row, generator);
+				}
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+		}
+	}
+
+	public void writeJson(WritableByteChannel channel) throws IOException {
+		this.writeJson(Channels.newOutputStream(channel));
+	}
+
+	private static void writeCsvCell(Writer writer, String value) throws IOException {
+		boolean quote = false;
+		for (int i = 0; i < value.length() && !quote; i++) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!quote) {
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+
+	/**
+	 * Construction ligne par ligne, les colonnes sont typées à la première valeur non nulle
+	 * Une valeur d'un autre type bascule la colonne en stockage objet
+	 */
+	public static final class Builder {
+
+		private final Map<String, Integer> indexes = new HashMap<>();
+
+		private final List<String> names = new ArrayList<>();
+
+		private Column[] columns = new Column[8];
+
+		private int capacity;
+
+		private int size;
+
+		private Builder(int expectedRows) {
+			this.capacity = Math.max(expectedRows, 16);
+		}
+
+		/**
+		 * @return index de la colonne, créée si besoin
+		 */
+		public int column(String name) {
+			Integer index = this.indexes.get(name);
+			if (index != null) {
+				return index;
+			}
+			int created = this.names.size();
+			this.names.add(name);
+			this.indexes.put(name, created);
+			if (created == this.columns.length) {
+				this.columns = Arrays.copyOf(this.columns, created * 2);
+			}
+			return created;
+		}
+
+		/**
+		 * @return index de la nouvelle ligne, toutes ses valeurs sont nulles
+		 */
+		public int addRow() {
+			if (this.size == this.capacity) {
+				this.capacity = this.capacity * 2;
+			}
+			return this.size++;
+		}
+
+		public Builder set(int row, int column, Object value) {
+			if (row < 0 || row >= this.size) {
+				throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + this.size);
+			}
+			if (value == null) { // Valeur par défaut de toutes les colonnes
+				return this;
+			}
+			Column current = this.columns[column];
+			if (current == null) {
+				current = Column.of(value, this.capacity);
+				this.columns[column] = current;
+			} else if (!current.accepts(value)) {
+				current = current.toObjects(Math.max(this.capacity, current.capacity()));
+				this.columns[column] = current;
+			}
+			if (row >= current.capacity()) {
+				current.resize(this.capacity);
+			}
+			current.set(row, value);
+			return this;
+		}
+
+		public Builder set(int row, String column, Object value) {
+			return this.set(row, this.column(column), value);
+		}
+
+		public ColumnarBatch build() {
+			Column[] values = new Column[this.names.size()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = this.columns[i] != null ? this.columns[i] : new ObjectColumn(0);
+			}
+			return new ColumnarBatch(this.names.toArray(new String[0]), values, this.size);
+		}
+
+	}
+
+	private abstract static class Column {
+
+		static Column of(Object value, int capacity) {
+			if (value instanceof Integer) {
+				return new IntColumn(capacity);
+			}
+			if (value instanceof Long) {
+				return new LongColumn(capacity);
+			}
+			if (value instanceof Double) {
+				return new DoubleColumn(capacity);
+			}
+			if (value instanceof Float) {
+				return new FloatColumn(capacity);
+			}
+			if (value instanceof Short) {
+				return new ShortColumn(capacity);
+			}
+			if (value instanceof Byte) {
+				return new ByteColumn(capacity);
+			}
+			if (value instanceof Character) {
+				return new CharColumn(capacity);
+			}
+			if (value instanceof Boolean) {
+				return new BooleanColumn(capacity);
+			}
+			return new ObjectColumn(capacity);
+		}
+
+		abstract Class<?> type();
+
+		abstract int capacity();
+
+		abstract void resize(int capacity);
+
+		abstract boolean accepts(Object value);
+
+		abstract void set(int row, Object value);
+
+		abstract Object get(int row);
+
+		void write(int row, JsonGenerator generator) throws IOException {
+			generator.writeObject(this.get(row));
+		}
+
+		Column toObjects(int capacity) {
+			ObjectColumn objects = new ObjectColumn(capacity);
+			for (int row = 0; row < this.capacity(); row++) {
+				objects.values[row] = this.get(row);
+			}
+			return objects;
+		}
+
+	}
+
+	/**
+	 * Colonne primitive, la présence de chaque valeur est portée par un BitSet
+	 */
+	private abstract static class PrimitiveColumn extends Column {
+
+		final BitSet present = new BitSet();
+
+		@Override
+		Object get(int row) {
+			return row < this.capacity() && this.present.get(row) ? this.value(row) : null;
+		}
+
+		@Override
+		void write(int row, JsonGenerator generator) throws IOException {
+			if (row < this.capacity() && this.present.get(row)) {
+				this.writeValue(row, generator);
+			} else {
+				generator.writeNull();
+			}
+		}
+
+		abstract Object value(int row);
+
+		abstract void writeValue(int row, JsonGenerator generator) throws IOException;
+
+	}
+
+	private static final class IntColumn extends PrimitiveColumn {
+
+		private int[] values;
+
+		IntColumn(int capacity) {
+			this.values = new int[capacity];
+		}
+
+		@Override
+		Class<?> type() {
+			return Integer.class;
+		}
+
+		@Override
+		int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof Integer;
+		}
+
+		@Override
+		void set(int row, Object value) {
+			this.values[row] = (Integer) value;
+			this.present.set(row);
+		}
+
+		@Override
+		Object value(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void writeValue(int row, JsonGenerator generator) throws IOException {
+			generator.writeNumber(this.values[row]);
+		}
+
+	}
+
+	private static final class LongColumn extends PrimitiveColumn {
+
+		private long[] values;
+
+		LongColumn(int capacity) {
+			this.values = new long[capacity];
+		}
+
+		@Override
+		Class<?> type() {
+			return Long.class;
+		}
+
+		@Override
+		int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof Long;
+		}
+
+		@Override
+		void set(int row, Object value) {
+			this.values[row] = (Long) value;
+			this.present.set(row);
+		}
+
+		@Override
+		Object value(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void writeValue(int row, JsonGenerator generator) throws IOException {
+			generator.writeNumber(this.values[row]);
+		}
+
+	}
+
+	private static final class DoubleColumn extends PrimitiveColumn {
+
+		private double[] values;
+
+		DoubleColumn(int capacity) {
+			this.values = new double[capacity];
+		}
+
+		@Override
+		Class<?> type() {
+			return Double.class;
+		}
+
+		@Override
+		int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof Double;
+		}
+
+		@Override
+		void set(int row, Object value) {
+			this.values[row] = (Double) value;
+			this.present.set(row);
+		}
+
+		@Override
+		Object value(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void writeValue(int row, JsonGenerator generator) throws IOException {
+			generator.writeNumber(this.values[row]);
+		}
+
+	}
+
+	private static final class FloatColumn extends PrimitiveColumn {
+
+		private float[] values;
+
+		FloatColumn(int capacity) {
+			this.values = new float[capacity];
+		}
+
+		@Override
+		Class<?> type() {
+			return Float.class;
+		}
+
+		@Override
+		int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof Float;
+		}
+
+		@Override
+		void set(int row, Object value) {
+			this.values[row] = (Float) value;
+			this.present.set(row);
+		}
+
+		@Override
+		Object value(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void writeValue(int row, JsonGenerator generator) throws IOException {
+			generator.writeNumber(this.values[row]);
+		}
+
+	}
+
+	private static final class ShortColumn extends PrimitiveColumn {
+
+		private short[] values;
+
+		ShortColumn(int capacity) {
+			this.values = new short[capacity];
+		}
+
+		@Override
+		Class<?> type() {
+			return Short.class;
+		}
+
+		@Override
+		int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof Short;
+		}
+
+		@Override
+		void set(int row, Object value) {
+			this.values[row] = (Short) value;
+			this.present.set(row);
+		}
+
+		@Override
+		Object value(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void writeValue(int row, JsonGenerator generator) throws IOException {
+			generator.writeNumber(this.values[row]);
+		}
+
+	}
+
+	private static final class ByteColumn extends PrimitiveColumn {
+
+		private byte[] values;
+
+		ByteColumn(int capacity) {
+			this.values = new byte[capacity];
+		}
+
+		@Override
+		Class<?> type() {
+			return Byte.class;
+		}
+
+		@Override
+		int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof Byte;
+		}
+
+		@Override
+		void set(int row, Object value) {
+			this.values[row] = (Byte) value;
+			this.present.set(row);
+		}
+
+		@Override
+		Object value(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void writeValue(int row, JsonGenerator generator) throws IOException {
+			generator.writeNumber(this.values[row]);
+		}
+
+	}
+
+	private static final class CharColumn extends PrimitiveColumn {
+
+		private char[] values;
+
+		CharColumn(int capacity) {
+			this.values = new char[capacity];
+		}
+
+		@Override
+		Class<?> type() {
+			return Character.class;
+		}
+
+		@Override
+		int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof Character;
+		}
+
+		@Override
+		void set(int row, Object value) {
+			this.values[row] = (Character) value;
+			this.present.set(row);
+		}
+
+		@Override
+		Object value(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		void writeValue(int row, JsonGenerator generator) throws IOException {
+			generator.writeString(String.valueOf(this.values[row]));
+		}
+
+	}
+
+	private static final class BooleanColumn extends PrimitiveColumn {
+
+		private final BitSet values = new BitSet();
+
+		private int capacity;
+
+		BooleanColumn(int capacity) {
+			this.capacity = capacity;
+		}
+
+		@Override
+		Class<?> type() {
+			return Boolean.class;
+		}
+
+		@Override
+		int capacity() {
+			return this.capacity;
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.capacity = capacity;
+		}
+
+		@Override
+		boolean accepts(Object value) {
+			return value instanceof Boolean;
+		}
+
+		@Override
+		void set(int row, Object value) {
+			this.values.set(row, (Boolean) value);
+			this.present.set(row);
+		}
+
+		@Override
+		Object value(int row) {
+			return this.values.get(row);
+		}
+
+		@Override
+		void writeValue(int row, JsonGenerator generator) throws IOException {
+			generator.writeBoolean(this.values.get(row));
+		}
+
+	}
+
+	private static final class ObjectColumn extends Column {
+
+		private Object[] values;
+
+		ObjectColumn(int capacity) {
+			this.values = new Object[capacity];
+		}
+
+		@Override
+		Class<?> type() {
+			return Object.class;
+		}
+
+		@Override
+		int capacity() {
+			return this.values.length;
+		}
+
+		@Override
+		void resize(int capacity) {
+			this.values = Arrays.copyOf(this.values, capacity);
+		}
+
+		@Override
+		boolean accepts(Object value) {
+			return true;
+		}
+
+		@Override
+		void set(int row, Object value) {
+			this.values[row] = value;
+		}
+
+		@Override
+		Object get(int row) {
+			return row < this.values.length ? this.values[row] : null;
+		}
+
+		@Override
+		Column toObjects(int capacity) {
+			return this;
+		}
+
+	}
+
+}
@@ -1,15 +1,23 @@
 package com.grelu.mapper.springboot;
 
 import com.grelu.mapper.core.ObjectWrapper;
+import com.grelu.mapper.core.engine.WarmUpReport;
+import com.grelu.mapper.core.execution.BatchConversionException;
+import com.grelu.mapper.core.execution.BatchResult;
+import com.grelu.mapper.core.execution.ExecutionStrategy;
+import com.grelu.mapper.core.stream.ConversionPublisher;
+import com.grelu.mapper.core.stream.ConversionStreams;
+import com.grelu.mapper.core.stream.StreamOptions;
 import org.modelmapper.internal.Pair;
 
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
 
 /**
  * @author Dorian GRELU
@@ -42,28 +50,53 @@ public interface WrapperContainer {
 
 	WrapperContainer registerWrappers(ObjectWrapper<?, ?>... wrapper);
 
+	/**
+	 * Retire un wrapper (comparé par identité), les conversions en cours se terminent avec les wrappers précédents
+	 *
+	 * @param wrapper wrapper à retirer
+	 * @return conteneur
+	 */
+	WrapperContainer unregisterWrapper(ObjectWrapper<?, ?> wrapper);
+
+	/**
+	 * Remplace atomiquement l'ensemble des wrappers : une conversion voit soit l'ancien ensemble, soit le nouveau
+	 *
+	 * @param wrappers nouveaux wrappers
+	 * @return conteneur
+	 */
+	WrapperContainer replaceWrappers(Collection<? extends ObjectWrapper<?, ?>> wrappers);
+
+	/**
+	 * @return instantané immuable des wrappers enregistrés, dans l'ordre d'enregistrement
+	 */
+	List<ObjectWrapper<?, ?>> getWrappers();
+
+	/**
+	 * @return version de l'ensemble des wrappers, incrémentée à chaque modification
+	 */
+	long getWrappersVersion();
+
+	/**
+	 * Prépare en parallèle les conversions de tous les wrappers enregistrés (TypeMaps ModelMapper, mappings compilés)
+	 *
+	 * @return rapport de préparation
+	 */
+	WarmUpReport warmUp();
+
+	/**
+	 * Convertis un objet vers le type demandé, sans connaître le sens de conversion
+	 * Par défaut la conversion vers l'entité est tentée en premier, puis celle vers le domaine
+	 *
+	 * @param clazz type cible (entité ou domaine)
+	 * @param from  objet à convertir
+	 * @return objet converti
+	 */
 	default <E> Optional<? extends E> to(Class<E> clazz, Object from) {
-		List<CompletableFuture<E>> futures = Arrays.asList(
-				CompletableFuture.supplyAsync(() -> this.toEntity(clazz, from)),
-				CompletableFuture.supplyAsync(() -> this.toData(clazz, from))
-		);
-
-		try {
-			return CompletableFuture.allOf(futures.get(0), futures.get(1)).thenApply(unused -> {
-				return futures.stream()
-						.map(eCompletableFuture -> {
-							try {
-								return eCompletableFuture.get();
-							} catch (InterruptedException | ExecutionException e) {
-								throw new IllegalStateException(e);
-							}
-						})
-						.filter(Objects::nonNull)
-						.findAny();
-			}).get();
-		} catch (InterruptedException | ExecutionException e) {
-			throw new IllegalStateException(e);
+		E entity = this.toEntity(clazz, from);
+		if (null != entity) {
+			return Optional.of(entity);
 		}
+		return Optional.ofNullable(this.toData(clazz, from));
 	}
 
 	default <E, D> E toEntity(Class<?> clazz, D fromData) {
@@ -78,9 +111,7 @@ public interface WrapperContainer {
 
 	@SuppressWarnings("unchecked")
 	default <E, D> List<E> toEntities(Class<?> clazz, List<D> fromDatas, boolean triggerMap, String option) {
-		return (List<E>) fromDatas.parallelStream()
-				.map(domain -> this.toEntity(clazz, domain, triggerMap, option))
-				.toList();
+		return this.getExecutionStrategy().map(fromDatas, domain -> this.toEntity(clazz, domain, triggerMap, option));
 	}
 
 	default <E, D> D toData(Class<?> clazz, E fromEntity) {
@@ -107,6 +138,29 @@ public interface WrapperContainer {
 
 	List<Map<String, Object>> flatMap(List<?> objects, boolean addTypeCharacteristic);
 
+	/**
+	 * Convertis puis met à plat les objets en colonnes (un seul schéma, colonnes numériques primitives)
+	 * À privilégier pour les exports volumineux, écrits ensuite en CSV / JSON
+	 */
+	@SuppressWarnings("unchecked")
+	<E, D> ColumnarBatch toDataObjectsColumnar(List<E> fromEntities, Pair<Class<? extends E>, Class<? extends D>>... clazz);
+
+	@SuppressWarnings("unchecked")
+	<E, D> ColumnarBatch toEntityObjectsColumnar(List<D> fromDatas, Pair<Class<? extends D>, Class<? extends E>>... clazz);
+
+	default ColumnarBatch flatColumns(List<?> objects) {
+		return this.flatColumns(objects, true);
+	}
+
+	/**
+	 * Équivalent de {@link #flatMap(List, boolean)}, sans map par ligne
+	 *
+	 * @param objects               objets à mettre à plat
+	 * @param addTypeCharacteristic ajout de la colonne _type (nom simple de la classe)
+	 * @return lot en colonnes
+	 */
+	ColumnarBatch flatColumns(List<?> objects, boolean addTypeCharacteristic);
+
 	default <E, D> List<D> toDatas(Class<?> clazz, List<E> fromEntities) {
 		return this.toDatas(clazz, fromEntities, ObjectWrapper.DEFAULT_OPTION);
 	}
@@ -117,7 +171,113 @@ public interface WrapperContainer {
 
 	@SuppressWarnings("unchecked")
 	default <E, D> List<D> toDatas(Class<?> clazz, List<E> fromEntities, boolean triggerMap, String option) {
-		return (List<D>) fromEntities.parallelStream().map(entity -> this.toData(clazz, entity, triggerMap, option)).toList();
+		return this.getExecutionStrategy().map(fromEntities, entity -> this.toData(clazz, entity, triggerMap, option));
+	}
+
+	/**
+	 * Convertis une liste d'entités sans échouer sur le premier élément en erreur
+	 *
+	 * @param clazz        type de domaine
+	 * @param fromEntities entités
+	 * @return résultats convertis et erreurs par position
+	 */
+	default <E, D> BatchResult<D> tryToDatas(Class<?> clazz, List<E> fromEntities) {
+		try {
+			return BatchResult.of(this.<E, D>toDatas(clazz, fromEntities));
+		} catch (BatchConversionException e) {
+			return BatchResult.of(e);
+		}
+	}
+
+	/**
+	 * Convertis une liste d'objets métier sans échouer sur le premier élément en erreur
+	 *
+	 * @param clazz     type d'entité
+	 * @param fromDatas domaines métiers
+	 * @return résultats convertis et erreurs par position
+	 */
+	default <E, D> BatchResult<E> tryToEntities(Class<?> clazz, List<D> fromDatas) {
+		try {
+			return BatchResult.of(this.<E, D>toEntities(clazz, fromDatas));
+		} catch (BatchConversionException e) {
+			return BatchResult.of(e);
+		}
+	}
+
+	/**
+	 * Convertis paresseusement un flux d'entités, le wrapper n'est résolu qu'une seule fois
+	 *
+	 * @param clazz        type de domaine
+	 * @param fromEntities flux des entités
+	 * @return flux des domaines
+	 */
+	default <E, D> Stream<D> toDataStream(Class<?> clazz, Stream<E> fromEntities) {
+		return this.toDataStream(clazz, fromEntities, StreamOptions.sequential(), ObjectWrapper.DEFAULT_OPTION);
+	}
+
+	@SuppressWarnings("unchecked")
+	default <E, D> Stream<D> toDataStream(Class<?> clazz, Stream<E> fromEntities, StreamOptions options, String option) {
+		ObjectWrapper<? super E, D> wrapper = this.resolveDataWrapper(clazz, option);
+		return ConversionStreams.stream(fromEntities, entity -> wrapper.toData(entity, (Class<D>) clazz, true), options, this.getExecutionStrategy().executor());
+	}
+
+	@SuppressWarnings("unchecked")
+	default <E, D> Iterator<D> toDataIterator(Class<?> clazz, Iterator<E> fromEntities, StreamOptions options, String option) {
+		ObjectWrapper<? super E, D> wrapper = this.resolveDataWrapper(clazz, option);
+		return ConversionStreams.iterator(fromEntities, entity -> wrapper.toData(entity, (Class<D>) clazz, true), options, this.getExecutionStrategy().executor());
+	}
+
+	/**
+	 * Convertis paresseusement un flux de domaines, le wrapper n'est résolu qu'une seule fois
+	 *
+	 * @param clazz     type d'entité
+	 * @param fromDatas flux des domaines
+	 * @return flux des entités
+	 */
+	default <E, D> Stream<E> toEntityStream(Class<?> clazz, Stream<D> fromDatas) {
+		return this.toEntityStream(clazz, fromDatas, StreamOptions.sequential(), ObjectWrapper.DEFAULT_OPTION);
+	}
+
+	@SuppressWarnings("unchecked")
+	default <E, D> Stream<E> toEntityStream(Class<?> clazz, Stream<D> fromDatas, StreamOptions options, String option) {
+		ObjectWrapper<E, ? super D> wrapper = this.resolveEntityWrapper(clazz, option);
+		return ConversionStreams.stream(fromDatas, data -> wrapper.toEntity(data, (Class<E>) clazz, true), options, this.getExecutionStrategy().executor());
+	}
+
+	@SuppressWarnings("unchecked")
+	default <E, D> Iterator<E> toEntityIterator(Class<?> clazz, Iterator<D> fromDatas, StreamOptions options, String option) {
+		ObjectWrapper<E, ? super D> wrapper = this.resolveEntityWrapper(clazz, option);
+		return ConversionStreams.iterator(fromDatas, data -> wrapper.toEntity(data, (Class<E>) clazz, true), options, this.getExecutionStrategy().executor());
+	}
+
+	/**
+	 * Convertis les entités publiées, en respectant la demande de l'abonné
+	 *
+	 * @param clazz        type de domaine
+	 * @param fromEntities publisher des entités
+	 * @param options      concurrence maximale, ordre et exécuteur (par défaut celui du conteneur)
+	 * @param option       spécification
+	 * @return publisher des domaines
+	 */
+	@SuppressWarnings("unchecked")
+	default <E, D> Flow.Publisher<D> toDataPublisher(Class<?> clazz, Flow.Publisher<E> fromEntities, StreamOptions options, String option) {
+		ObjectWrapper<? super E, D> wrapper = this.resolveDataWrapper(clazz, option);
+		return new ConversionPublisher<>(fromEntities, entity -> wrapper.toData(entity, (Class<D>) clazz, true), options, this.getExecutionStrategy().executor());
+	}
+
+	/**
+	 * Convertis les domaines publiés, en respectant la demande de l'abonné
+	 *
+	 * @param clazz     type d'entité
+	 * @param fromDatas publisher des domaines
+	 * @param options   concurrence maximale, ordre et exécuteur (par défaut celui du conteneur)
+	 * @param option    spécification
+	 * @return publisher des entités
+	 */
+	@SuppressWarnings("unchecked")
+	default <E, D> Flow.Publisher<E> toEntityPublisher(Class<?> clazz, Flow.Publisher<D> fromDatas, StreamOptions options, String option) {
+		ObjectWrapper<E, ? super D> wrapper = this.resolveEntityWrapper(clazz, option);
+		return new ConversionPublisher<>(fromDatas, data -> wrapper.toEntity(data, (Class<E>) clazz, true), options, this.getExecutionStrategy().executor());
 	}
 
 	<E> E mapEntity(Class<?> clazz, E entity, String option);
@@ -127,17 +287,22 @@ public interface WrapperContainer {
 	}
 
 	default <E> List<E> mapEntities(Class<?> clazz, List<E> entities, String option) {
-		return entities.parallelStream()
-				.map(entity -> this.mapEntity(clazz, entity, option))
-				.toList();
+		return this.getExecutionStrategy().map(entities, entity -> this.mapEntity(clazz, entity, option));
 	}
 
 	<D> D mapData(Class<?> clazz, D data, String option);
 
 	default <D> List<D> mapDatas(Class<?> clazz, List<D> datas, String option) {
-		return datas.parallelStream()
-				.map(domain -> this.mapData(clazz, domain, option))
-				.toList();
+		return this.getExecutionStrategy().map(datas, domain -> this.mapData(clazz, domain, option));
+	}
+
+	/**
+	 * Stratégie d'exécution des traitements par lot du conteneur
+	 *
+	 * @return stratégie d'exécution
+	 */
+	default ExecutionStrategy getExecutionStrategy() {
+		return ExecutionStrategy.commonPool();
 	}
 
 	public <E, D> ObjectWrapper<? super E, D> resolveDataWrapper(Class<?> target, String option);
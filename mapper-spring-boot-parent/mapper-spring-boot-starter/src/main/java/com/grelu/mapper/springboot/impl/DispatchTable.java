@@ -0,0 +1,158 @@
+package com.grelu.mapper.springboot.impl;
+
+import com.grelu.mapper.core.ObjectWrapper;
+import com.grelu.mapper.core.execution.BatchConversionException;
+import com.grelu.mapper.core.execution.ExecutionStrategy;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Table de dispatch des conversions polymorphes (toDataObjects / toEntityObjects)
+ * <p>
+ * Pour chaque classe concrète rencontrée, le couple (type cible, wrapper) est résolu une seule fois :
+ * correspondance exacte d'abord, puis la classe parente la plus proche, puis les interfaces (dans l'ordre des couples déclarés).
+ * Les listes hétérogènes sont converties regroupées par type, le résultat conserve l'ordre d'origine.
+ *
+ * @author Dorian GRELU
+ */
+final class DispatchTable {
+
+	/**
+	 * Clé de cache : les couples de ModelMapper ne définissent pas equals
+	 */
+	record Key(List<Class<?>> sources, List<Class<?>> targets, ResolutionIndex.Direction direction) {
+	}
+
+	private record Route(Class<?> target, ObjectWrapper<?, ?> wrapper, ResolutionIndex.Direction direction) {
+
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		Object convert(Object o) {
+			ObjectWrapper raw = this.wrapper;
+			return this.direction == ResolutionIndex.Direction.DATA ?
+					raw.toData(o, (Class) this.target, true) :
+					raw.toEntity(o, (Class) this.target, true);
+		}
+
+	}
+
+	private final List<Class<?>> sources;
+
+	private final List<Class<?>> targets;
+
+	private final ResolutionIndex.Direction direction;
+
+	private final BiFunction<Class<?>, ResolutionIndex.Direction, ObjectWrapper<?, ?>> resolver;
+
+	private final Map<Class<?>, Route> routes = new ConcurrentHashMap<>();
+
+	DispatchTable(Key key, BiFunction<Class<?>, ResolutionIndex.Direction, ObjectWrapper<?, ?>> resolver) {
+		this.sources = key.sources();
+		this.targets = key.targets();
+		this.direction = key.direction();
+		this.resolver = resolver;
+	}
+
+	@SuppressWarnings("unchecked")
+	<T> List<T> convert(List<?> objects, ExecutionStrategy executionStrategy) {
+		int size = objects.size();
+		Route[] routes = new Route[size];
+		Map<Route, Integer> groups = new IdentityHashMap<>();
+		for (int i = 0; i < size; i++) {
+			routes[i] = this.route(objects.get(i).getClass());
+			groups.putIfAbsent(routes[i], groups.size());
+		}
+		if (groups.size() <= 1) {
+			return executionStrategy.map(objects, o -> (T) routes[0].convert(o));
+		}
+
+		// Tri par dénombrement : les éléments d'un même type sont contigus, dans leur ordre d'origine
+		int[] offsets = new int[groups.size() + 1];
+		for (Route route : routes) {
+			offsets[groups.get(route) + 1]++;
+		}
+		for (int i = 1; i < offsets.length; i++) {
+			offsets[i] += offsets[i - 1];
+		}
+		int[] grouped = new int[size];
+		for (int i = 0; i < size; i++) {
+			grouped[offsets[groups.get(routes[i])]++] = i;
+		}
+
+		List<Object> converted;
+		try {
+			converted = executionStrategy.map(new AbstractList<Integer>() {
+				@Override
+				public Integer get(int index) {
+					return grouped[index];
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			}, index -> routes[index].convert(objects.get(index)));
+		} catch (BatchConversionException e) {
+			throw ungroup(e, grouped);
+		}
+		return (List<T>) Collections.unmodifiableList(Arrays.asList(ungroup(converted, grouped)));
+	}
+
+	/**
+	 * Replace les résultats convertis dans l'ordre regroupé à leur position d'origine
+	 */
+	private static Object[] ungroup(List<?> converted, int[] grouped) {
+		Object[] result = new Object[grouped.length];
+		for (int i = 0; i < grouped.length; i++) {
+			result[grouped[i]] = converted.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * Les positions et résultats partiels d'une erreur de lot sont ceux de la liste regroupée : on les reporte sur la liste d'origine
+	 */
+	private static BatchConversionException ungroup(BatchConversionException e, int[] grouped) {
+		List<BatchConversionException.Failure> failures = new ArrayList<>(e.getFailures().size());
+		for (BatchConversionException.Failure failure : e.getFailures()) {
+			failures.add(new BatchConversionException.Failure(grouped[failure.index()], failure.cause()));
+		}
+		failures.sort(Comparator.comparingInt(BatchConversionException.Failure::index));
+		return new BatchConversionException(failures, Arrays.asList(ungroup(e.getPartialResults(), grouped)));
+	}
+
+	private Route route(Class<?> type) {
+		Route route = this.routes.get(type);
+		if (route == null) {
+			route = this.routes.computeIfAbsent(type, this::resolve);
+		}
+		return route;
+	}
+
+	private Route resolve(Class<?> type) {
+		int match = -1;
+		for (Class<?> current = type; current != null && match < 0; current = current.getSuperclass()) {
+			match = this.sources.indexOf(current);
+		}
+		for (int i = 0; i < this.sources.size() && match < 0; i++) {
+			if (this.sources.get(i).isAssignableFrom(type)) {
+				match = i;
+			}
+		}
+		if (match < 0) {
+			throw new NoSuchElementException("No mapping declared for " + type.getName());
+		}
+		Class<?> target = this.targets.get(match);
+		return new Route(target, this.resolver.apply(target, this.direction), this.direction);
+	}
+
+}
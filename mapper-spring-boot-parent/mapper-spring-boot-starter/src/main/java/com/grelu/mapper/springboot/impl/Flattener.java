@@ -0,0 +1,335 @@
+package com.grelu.mapper.springboot.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grelu.mapper.springboot.ColumnarBatch;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mise à plat d'objets en {@link Map}, équivalente à {@code ObjectMapper.convertValue(o, Map.class)} avec un ObjectMapper par défaut
+ * <p>
+ * Un plan d'extraction (propriétés, accesseurs, conversion de chaque valeur) est calculé une seule fois par classe :
+ * les propriétés simples (chaînes, nombres, booléens, énumérations, dates) sont copiées directement dans une map pré-dimensionnée,
+ * seules les valeurs complexes (objets imbriqués, collections...) passent encore par Jackson.
+ * Les classes portant des annotations Jackson, les classes non publiques, les types du JDK et les beans sans propriété
+ * sont entièrement délégués à Jackson afin de conserver exactement son comportement.
+ *
+ * @author Dorian GRELU
+ */
+final class Flattener {
+
+	private static final Logger logger = LogManager.getLogger(Flattener.class);
+
+	static final String TYPE_KEY = "_type";
+
+	/**
+	 * Types dont la valeur est conservée telle quelle par Jackson
+	 */
+	private static final Set<Class<?>> IDENTITY_TYPES = Set.of(String.class, Boolean.class, Short.class, Integer.class, Long.class,
+			Float.class, Double.class, BigDecimal.class, BigInteger.class);
+
+	private static final Set<Class<?>> IDENTITY_PRIMITIVES = Set.of(boolean.class, short.class, int.class, long.class, float.class, double.class);
+
+	private static final ClassValue<String> TYPE_NAMES = new ClassValue<>() {
+		@Override
+		protected String computeValue(Class<?> type) {
+			String name = type.toString();
+			return name.substring(name.lastIndexOf('.') + 1);
+		}
+	};
+
+	private final ObjectMapper objectMapper;
+
+	private final ClassValue<Plan> plans = new ClassValue<>() {
+		@Override
+		protected Plan computeValue(Class<?> type) {
+			return Flattener.this.plan(type);
+		}
+	};
+
+	Flattener(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	@SuppressWarnings("unchecked")
+	Map<String, Object> flatten(Object o, boolean addTypeCharacteristic) {
+		Plan plan = this.plans.get(o.getClass());
+		Map<String, Object> flatten;
+		if (plan == null) {
+			flatten = this.objectMapper.convertValue(o, Map.class);
+		} else {
+			flatten = new LinkedHashMap<>(plan.capacity());
+			for (Property property : plan.properties()) {
+				flatten.put(property.name(), this.value(property, o));
+			}
+		}
+		if (addTypeCharacteristic) {
+			flatten.putIfAbsent(TYPE_KEY, TYPE_NAMES.get(o.getClass()));
+		}
+		return flatten;
+	}
+
+	/**
+	 * Mise à plat en colonnes : les index de colonnes de chaque plan sont résolus une fois par classe et par lot
+	 */
+	ColumnarBatch columnar(List<?> objects, boolean addTypeCharacteristic) {
+		ColumnarBatch.Builder batch = ColumnarBatch.builder(objects.size());
+		Map<Class<?>, int[]> layouts = new HashMap<>();
+		for (Object o : objects) {
+			int row = batch.addRow();
+			Plan plan = this.plans.get(o.getClass());
+			if (plan == null) {
+				this.flatten(o, addTypeCharacteristic).forEach((key, value) -> batch.set(row, key, value));
+				continue;
+			}
+			Property[] properties = plan.properties();
+			int[] layout = layouts.computeIfAbsent(o.getClass(), type -> this.layout(batch, properties, addTypeCharacteristic));
+			for (int i = 0; i < properties.length; i++) {
+				batch.set(row, layout[i], this.value(properties[i], o));
+			}
+			if (layout.length > properties.length) {
+				batch.set(row, layout[properties.length], TYPE_NAMES.get(o.getClass()));
+			}
+		}
+		return batch.build();
+	}
+
+	/**
+	 * @return index de colonne de chaque propriété, suivi de celui du type si nécessaire (absent si le bean a déjà une propriété _type)
+	 */
+	private int[] layout(ColumnarBatch.Builder batch, Property[] properties, boolean addTypeCharacteristic) {
+		boolean typed = addTypeCharacteristic && Arrays.stream(properties).noneMatch(property -> TYPE_KEY.equals(property.name()));
+		int[] layout = new int[typed ? properties.length + 1 : properties.length];
+		for (int i = 0; i < properties.length; i++) {
+			layout[i] = batch.column(properties[i].name());
+		}
+		if (typed) {
+			layout[properties.length] = batch.column(TYPE_KEY);
+		}
+		return layout;
+	}
+
+	private Object value(Property property, Object o) {
+		Object value;
+		try {
+			value = (Object) property.getter().invokeExact(o);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+		if (value == null) {
+			return null;
+		}
+		return switch (property.kind()) {
+			case IDENTITY -> value;
+			case CHARACTER -> value.toString();
+			case BYTE -> ((Byte) value).intValue();
+			case DYNAMIC -> this.dynamicValue(value);
+		};
+	}
+
+	/**
+	 * Valeur dont le type n'est connu qu'à l'exécution (type déclaré Object, Number, bean imbriqué...)
+	 */
+	private Object dynamicValue(Object value) {
+		Class<?> type = value.getClass();
+		if (IDENTITY_TYPES.contains(type)) {
+			return value;
+		}
+		if (type == Character.class) {
+			return value.toString();
+		}
+		if (type == Byte.class) {
+			return ((Byte) value).intValue();
+		}
+		if (type == Date.class) {
+			return ((Date) value).getTime();
+		}
+		if (value instanceof Enum<?> constant && !hasJacksonAnnotations(constant.getDeclaringClass())) {
+			return constant.name();
+		}
+		return this.objectMapper.convertValue(value, Object.class);
+	}
+
+	/**
+	 * @return plan d'extraction, null si la classe doit être déléguée à Jackson
+	 */
+	private Plan plan(Class<?> type) {
+		if (!Modifier.isPublic(type.getModifiers()) || type.isArray() || type.isEnum() || type.isRecord() || type.isPrimitive()
+				|| type.getName().startsWith("java.") || Map.class.isAssignableFrom(type) || Iterable.class.isAssignableFrom(type)
+				|| hasJacksonAnnotations(type)) {
+			return null;
+		}
+		try {
+			List<Property> properties = this.properties(type);
+			return properties.isEmpty() ? null : new Plan(properties.toArray(new Property[0]), (int) ((properties.size() + 1) / 0.75f) + 1);
+		} catch (IllegalAccessException | RuntimeException e) {
+			logger.debug("Fallback to Jackson for {}", type, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Propriétés sérialisées par Jackson : champs publics et getters publics (le getter est prioritaire)
+	 * Ordre de Jackson : propriétés associées à un champ dans l'ordre de déclaration (classes parentes d'abord), puis les autres
+	 */
+	private List<Property> properties(Class<?> type) throws IllegalAccessException {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		Map<String, MethodHandle> getters = new LinkedHashMap<>();
+
+		List<Field> fields = new ArrayList<>();
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			fields.addAll(0, List.of(current.getDeclaredFields()));
+		}
+		Map<String, Class<?>> types = new LinkedHashMap<>();
+		for (Field field : fields) {
+			int modifiers = field.getModifiers();
+			if (Modifier.isStatic(modifiers) || field.isSynthetic()) {
+				continue;
+			}
+			types.putIfAbsent(field.getName(), null); // Réserve la position de la propriété
+			if (Modifier.isPublic(modifiers) && !Modifier.isTransient(modifiers)) {
+				types.put(field.getName(), field.getType());
+				getters.put(field.getName(), lookup.unreflectGetter(field));
+			}
+		}
+		for (Method method : type.getMethods()) {
+			String name = propertyName(method);
+			if (name != null) {
+				types.put(name, method.getReturnType());
+				getters.put(name, lookup.unreflect(method));
+			}
+		}
+
+		List<Property> properties = new ArrayList<>(getters.size());
+		for (Map.Entry<String, Class<?>> entry : types.entrySet()) {
+			MethodHandle getter = getters.get(entry.getKey());
+			if (getter != null) {
+				properties.add(new Property(entry.getKey(), getter.asType(MethodType.methodType(Object.class, Object.class)), kind(entry.getValue())));
+			}
+		}
+		return properties;
+	}
+
+	private static String propertyName(Method method) {
+		if (Modifier.isStatic(method.getModifiers()) || method.isBridge() || method.getParameterCount() != 0 || method.getDeclaringClass() == Object.class) {
+			return null;
+		}
+		String name = method.getName();
+		Class<?> returnType = method.getReturnType();
+		if (name.startsWith("get") && name.length() > 3 && returnType != void.class) {
+			return legacyManglePropertyName(name.substring(3));
+		}
+		if (name.startsWith("is") && name.length() > 2 && (returnType == boolean.class || returnType == Boolean.class)) {
+			return legacyManglePropertyName(name.substring(2));
+		}
+		return null;
+	}
+
+	/**
+	 * Nommage par défaut de Jackson : toutes les majuscules de tête passent en minuscules (getURLValue → urlvalue)
+	 */
+	private static String legacyManglePropertyName(String name) {
+		StringBuilder mangled = new StringBuilder(name);
+		for (int i = 0; i < mangled.length() && Character.isUpperCase(mangled.charAt(i)); i++) {
+			mangled.setCharAt(i, Character.toLowerCase(mangled.charAt(i)));
+		}
+		return mangled.toString();
+	}
+
+	private static Kind kind(Class<?> type) {
+		if (IDENTITY_PRIMITIVES.contains(type) || (IDENTITY_TYPES.contains(type) && Modifier.isFinal(type.getModifiers()))) {
+			return Kind.IDENTITY;
+		}
+		if (type == char.class || type == Character.class) {
+			return Kind.CHARACTER;
+		}
+		if (type == byte.class || type == Byte.class) {
+			return Kind.BYTE;
+		}
+		return Kind.DYNAMIC;
+	}
+
+	private static boolean hasJacksonAnnotations(Class<?> type) {
+		for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+			if (isJacksonAnnotated(current) || hasJacksonInterface(current)) {
+				return true;
+			}
+			for (Field field : current.getDeclaredFields()) {
+				if (isJacksonAnnotated(field)) {
+					return true;
+				}
+			}
+			for (Method method : current.getDeclaredMethods()) {
+				if (isJacksonAnnotated(method)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Jackson fusionne les annotations des interfaces, et certaines interfaces (JsonSerializable...) changent la sérialisation
+	 */
+	private static boolean hasJacksonInterface(Class<?> type) {
+		for (Class<?> contract : type.getInterfaces()) {
+			if (isJackson(contract) || isJacksonAnnotated(contract) || hasJacksonInterface(contract)) {
+				return true;
+			}
+			for (Method method : contract.getDeclaredMethods()) {
+				if (isJacksonAnnotated(method)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean isJacksonAnnotated(AnnotatedElement element) {
+		for (Annotation annotation : element.getDeclaredAnnotations()) {
+			if (isJackson(annotation.annotationType())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isJackson(Class<?> type) {
+		return type.getName().startsWith("com.fasterxml.jackson.");
+	}
+
+	private enum Kind {
+		IDENTITY,
+		CHARACTER,
+		BYTE,
+		DYNAMIC
+	}
+
+	private record Property(String name, MethodHandle getter, Kind kind) {
+	}
+
+	private record Plan(Property[] properties, int capacity) {
+	}
+
+}
@@ -0,0 +1,150 @@
+package com.grelu.mapper.springboot.impl;
+
+import com.grelu.mapper.core.ObjectWrapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Index de résolution des wrappers d'un conteneur
+ * <p>
+ * Les wrappers sont triés une seule fois (priorité décroissante) à la construction de l'index.
+ * Le résultat de chaque résolution (type cible, option, sens) est mémorisé : les {@link com.grelu.mapper.core.helper.Resolvable}
+ * doivent donc être déterministes pour un couple type / option.
+ * Les résolutions infructueuses sont mémorisées de la même façon : un type inconnu ne coûte plus qu'une lecture de la map
+ * après le premier appel, jusqu'au prochain instantané.
+ * Les wrappers par défaut (types sans wrapper déclaré) sont également propres à l'instantané, et bornés en nombre.
+ * Un index est un instantané immuable des wrappers, versionné : toute modification du conteneur produit un nouvel index
+ * (copie à l'écriture), les lectures ne prennent aucun verrou.
+ *
+ * @author Dorian GRELU
+ */
+final class ResolutionIndex {
+
+	enum Direction {
+		ENTITY,
+		DATA
+	}
+
+	private record Key(Class<?> target, String option, Direction direction) {
+	}
+
+	private record DefaultKey(Class<?> target, Direction direction) {
+	}
+
+	/**
+	 * Nombre de wrappers par défaut typés par instantané, au-delà les types inconnus partagent le wrapper non typé
+	 */
+	static final int MAX_DEFAULT_WRAPPERS = 256;
+
+	private static final Comparator<ObjectWrapper<?, ?>> BY_PRIORITY = (o1, o2) -> Integer.compare(o2.getPriority(), o1.getPriority());
+
+	private final List<ObjectWrapper<?, ?>> wrappers;
+
+	private final long version;
+
+	private final ObjectWrapper<?, ?>[] sortedWrappers;
+
+	private final Map<Key, Optional<ObjectWrapper<?, ?>>> resolutions = new ConcurrentHashMap<>();
+
+	private final Map<DispatchTable.Key, DispatchTable> dispatchTables = new ConcurrentHashMap<>();
+
+	private final Map<DefaultKey, ObjectWrapper<?, ?>> defaultWrappers = new ConcurrentHashMap<>();
+
+	ResolutionIndex(Collection<? extends ObjectWrapper<?, ?>> wrappers, long version) {
+		this.wrappers = List.copyOf(wrappers);
+		this.version = version;
+		this.sortedWrappers = this.wrappers.toArray(new ObjectWrapper<?, ?>[0]);
+		Arrays.sort(this.sortedWrappers, BY_PRIORITY); // Tri stable : à priorité égale, l'ordre d'enregistrement est conservé
+	}
+
+	ResolutionIndex register(Collection<? extends ObjectWrapper<?, ?>> added) {
+		List<ObjectWrapper<?, ?>> wrappers = new ArrayList<>(this.wrappers.size() + added.size());
+		wrappers.addAll(this.wrappers);
+		wrappers.addAll(added);
+		return new ResolutionIndex(wrappers, this.version + 1);
+	}
+
+	/**
+	 * Retire un wrapper, comparé par identité : l'index est inchangé si le wrapper n'est pas enregistré
+	 */
+	ResolutionIndex unregister(ObjectWrapper<?, ?> removed) {
+		List<ObjectWrapper<?, ?>> wrappers = new ArrayList<>(this.wrappers.size());
+		for (ObjectWrapper<?, ?> wrapper : this.wrappers) {
+			if (wrapper != removed) {
+				wrappers.add(wrapper);
+			}
+		}
+		return wrappers.size() == this.wrappers.size() ? this : new ResolutionIndex(wrappers, this.version + 1);
+	}
+
+	ResolutionIndex replace(Collection<? extends ObjectWrapper<?, ?>> wrappers) {
+		return new ResolutionIndex(wrappers, this.version + 1);
+	}
+
+	/**
+	 * Même ensemble de wrappers, sans aucune résolution mémorisée (mappers des wrappers par défaut modifiés)
+	 */
+	ResolutionIndex refresh() {
+		return new ResolutionIndex(this.wrappers, this.version + 1);
+	}
+
+	List<ObjectWrapper<?, ?>> getWrappers() {
+		return this.wrappers;
+	}
+
+	long getVersion() {
+		return this.version;
+	}
+
+	Optional<ObjectWrapper<?, ?>> resolve(Class<?> target, String option, Direction direction) {
+		Key key = new Key(target, option, direction);
+		Optional<ObjectWrapper<?, ?>> resolved = this.resolutions.get(key);
+		if (resolved == null) {
+			resolved = this.resolutions.computeIfAbsent(key, this::scan);
+		}
+		return resolved;
+	}
+
+	/**
+	 * Table de dispatch mémorisée pour un ensemble de couples (source, cible), les ensembles de couples sont supposés statiques
+	 */
+	DispatchTable dispatchTable(DispatchTable.Key key, BiFunction<Class<?>, Direction, ObjectWrapper<?, ?>> resolver) {
+		return this.dispatchTables.computeIfAbsent(key, k -> new DispatchTable(k, resolver));
+	}
+
+	/**
+	 * Wrapper par défaut d'un type sans wrapper déclaré, construit une seule fois par type cible et sens
+	 */
+	ObjectWrapper<?, ?> defaultWrapper(Class<?> target, Direction direction, BiFunction<Class<?>, Direction, ObjectWrapper<?, ?>> factory) {
+		DefaultKey key = new DefaultKey(target, direction);
+		ObjectWrapper<?, ?> wrapper = this.defaultWrappers.get(key);
+		if (wrapper != null) {
+			return wrapper;
+		}
+		if (this.defaultWrappers.size() >= MAX_DEFAULT_WRAPPERS) {
+			key = new DefaultKey(Object.class, direction);
+		}
+		return this.defaultWrappers.computeIfAbsent(key, k -> factory.apply(k.target(), k.direction()));
+	}
+
+	private Optional<ObjectWrapper<?, ?>> scan(Key key) {
+		for (ObjectWrapper<?, ?> wrapper : this.sortedWrappers) {
+			boolean supported = key.direction() == Direction.ENTITY ?
+					wrapper.supportEntity(key.target(), key.option()) :
+					wrapper.supportData(key.target(), key.option());
+			if (supported) {
+				return Optional.of(wrapper);
+			}
+		}
+		return Optional.empty();
+	}
+
+}
@@ -3,44 +3,150 @@ package com.grelu.mapper.springboot.impl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.grelu.mapper.core.ObjectWrapper;
 import com.grelu.mapper.core.builder.WrapperBuilder;
+import com.grelu.mapper.core.engine.WarmUpReport;
+import com.grelu.mapper.core.execution.ExecutionStrategy;
+import com.grelu.mapper.core.metrics.WrapperInstrumentation;
+import com.grelu.mapper.core.resolver.ModelMapperResolver;
 
+import com.grelu.mapper.springboot.ColumnarBatch;
 import com.grelu.mapper.springboot.WrapperContainer;
 import org.modelmapper.internal.Pair;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiFunction;
-import java.util.function.Predicate;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Component
 class WrapperContainerImpl implements WrapperContainer {
 
-	private final List<ObjectWrapper<?, ?>> wrappers;
+	private final Flattener flattener;
 
-	private final ObjectMapper defaultObjectMapper;
 
-	private ObjectWrapper<?, ?> defaultWrapper = null;
+	/**
+	 * Instantané courant des wrappers, remplacé (copie à l'écriture) à chaque modification
+	 */
+	private final AtomicReference<ResolutionIndex> index;
+
+	private volatile ExecutionStrategy executionStrategy = ExecutionStrategy.commonPool();
+
+	private volatile WrapperInstrumentation instrumentation = WrapperInstrumentation.NOOP;
+
+	private volatile ModelMapperResolver modelMapperResolver = ModelMapperResolver.shared();
 
 	public WrapperContainerImpl(List<ObjectWrapper<?, ?>> wrappersComponents) {
-		this.wrappers = Collections.synchronizedList(wrappersComponents);
-		this.defaultObjectMapper = new ObjectMapper();
+		this.flattener = new Flattener(new ObjectMapper());
+		this.index = new AtomicReference<>(new ResolutionIndex(wrappersComponents, 0));
 	}
 
 	@Override
 	public WrapperContainer registerWrapper(ObjectWrapper<?, ?> wrapper) {
-		this.wrappers.add(wrapper);
+		this.index.updateAndGet(current -> current.register(List.of(wrapper)));
 		return this;
 	}
 
 	@Override
 	public WrapperContainer registerWrappers(ObjectWrapper<?, ?>... wrapper) {
-		this.wrappers.addAll(List.of(wrapper));
+		List<ObjectWrapper<?, ?>> added = List.of(wrapper);
+		this.index.updateAndGet(current -> current.register(added));
+		return this;
+	}
+
+	@Override
+	public WrapperContainer unregisterWrapper(ObjectWrapper<?, ?> wrapper) {
+		this.index.updateAndGet(current -> current.unregister(wrapper));
 		return this;
 	}
 
+	@Override
+	public WrapperContainer replaceWrappers(Collection<? extends ObjectWrapper<?, ?>> wrappers) {
+		List<ObjectWrapper<?, ?>> replacement = List.copyOf(wrappers);
+		this.index.updateAndGet(current -> current.replace(replacement));
+		return this;
+	}
+
+	@Override
+	public List<ObjectWrapper<?, ?>> getWrappers() {
+		return this.index.get().getWrappers();
+	}
+
+	@Override
+	public long getWrappersVersion() {
+		return this.index.get().getVersion();
+	}
+
+	@Override
+	public WarmUpReport warmUp() {
+		List<ObjectWrapper<?, ?>> wrappers = this.index.get().getWrappers();
+		long start = System.nanoTime();
+		List<WarmUpReport> reports = this.executionStrategy.map(wrappers, ObjectWrapper::warmUp);
+		return WarmUpReport.merge(reports, System.nanoTime() - start);
+	}
+
+	@Override
+	public ExecutionStrategy getExecutionStrategy() {
+		return this.executionStrategy;
+	}
+
+	/**
+	 * Permets de remplacer le ForkJoinPool commun, par défaut la stratégie est injectée si un bean existe
+	 *
+	 * @param executionStrategy stratégie d'exécution
+	 */
+	@Autowired(required = false)
+	public void setExecutionStrategy(ExecutionStrategy executionStrategy) {
+		if (null == executionStrategy) {
+			throw new IllegalArgumentException("Missing required execution strategy");
+		}
+		this.executionStrategy = executionStrategy;
+	}
+
+	/**
+	 * Le sens de conversion est déduit de l'index : seule la conversion correspondante est exécutée, sur le thread appelant.
+	 * Les deux conversions ne sont lancées en parallèle (sur la stratégie d'exécution) que si le type est à la fois une entité et un domaine.
+	 */
+	@Override
+	public <E> Optional<? extends E> to(Class<E> clazz, Object from) {
+		ResolutionIndex index = this.index.get();
+		boolean entity = index.resolve(clazz, ObjectWrapper.DEFAULT_OPTION, ResolutionIndex.Direction.ENTITY).isPresent();
+		boolean data = index.resolve(clazz, ObjectWrapper.DEFAULT_OPTION, ResolutionIndex.Direction.DATA).isPresent();
+		if (entity && data) {
+			CompletableFuture<E> toEntity = this.executionStrategy.supply(() -> this.toEntity(clazz, from));
+			CompletableFuture<E> toData = this.executionStrategy.supply(() -> this.toData(clazz, from));
+			try {
+				E result = toEntity.join();
+				return null != result ? Optional.of(result) : Optional.ofNullable(toData.join());
+			} catch (CompletionException e) {
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+		if (data) {
+			return Optional.ofNullable(this.toData(clazz, from));
+		}
+		// Entité, ou aucun wrapper : le wrapper par défaut donne le même résultat dans les deux sens
+		return Optional.ofNullable(this.toEntity(clazz, from));
+	}
+
+	/**
+	 * Instrumentation des résolutions, par défaut injectée si un bean existe (Micrometer)
+	 *
+	 * @param instrumentation instrumentation
+	 */
+	@Autowired(required = false)
+	public void setInstrumentation(WrapperInstrumentation instrumentation) {
+		if (null == instrumentation) {
+			throw new IllegalArgumentException("Missing required instrumentation");
+		}
+		this.instrumentation = instrumentation;
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public <E, D> E toEntity(Class<?> clazz, D fromData, boolean triggerMap, String option) {
@@ -65,24 +171,18 @@ class WrapperContainerImpl implements WrapperContainer {
 
 	@Override
 	public <E, D> ObjectWrapper<? super E, D> resolveDataWrapper(Class<?> target, String option) {
-		return this.resolveWrapper(
-				entityDomainWrapper -> entityDomainWrapper.supportData(target, option),
-				"Missing required mapper for " + target + " with options {" + option + "}"
-		);
+		return this.resolveWrapper(target, option, ResolutionIndex.Direction.DATA);
 	}
 
 	@Override
 	public <E, D> ObjectWrapper<E, ? super D> resolveEntityWrapper(Class<?> target, String option) {
-		return this.resolveWrapper(
-				entityDomainWrapper -> entityDomainWrapper.supportEntity(target, option),
-				"Missing required mapper for " + target + " with options {" + option + "}"
-		);
+		return this.resolveWrapper(target, option, ResolutionIndex.Direction.ENTITY);
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public <E, D> List<D> toDataObjects(List<E> fromEntities, Pair<Class<? extends E>, Class<? extends D>>... clazz) {
-		return this.tosObject(fromEntities, this::toData, Arrays.asList(clazz));
+		return this.tosObject(fromEntities, Arrays.asList(clazz), ResolutionIndex.Direction.DATA);
 	}
 
 	@SafeVarargs
@@ -94,7 +194,7 @@ class WrapperContainerImpl implements WrapperContainer {
 	@Override
 	@SuppressWarnings("unchecked")
 	public <E, D> List<E> toEntityObjects(List<D> fromDatas, Pair<Class<? extends D>, Class<? extends E>>... clazz) {
-		return this.tosObject(fromDatas, this::toEntity, Arrays.asList(clazz));
+		return this.tosObject(fromDatas, Arrays.asList(clazz), ResolutionIndex.Direction.ENTITY);
 	}
 
 	@SafeVarargs
@@ -103,52 +203,83 @@ class WrapperContainerImpl implements WrapperContainer {
 		return this.flatMap(this.toEntityObjects(fromDatas, clazz));
 	}
 
+	@SafeVarargs
+	@Override
+	public final <E, D> ColumnarBatch toDataObjectsColumnar(List<E> fromEntities, Pair<Class<? extends E>, Class<? extends D>>... clazz) {
+		return this.flatColumns(this.toDataObjects(fromEntities, clazz));
+	}
+
+	@SafeVarargs
+	@Override
+	public final <E, D> ColumnarBatch toEntityObjectsColumnar(List<D> fromDatas, Pair<Class<? extends D>, Class<? extends E>>... clazz) {
+		return this.flatColumns(this.toEntityObjects(fromDatas, clazz));
+	}
+
+	@Override
+	public ColumnarBatch flatColumns(List<?> objects, boolean addTypeCharacteristic) {
+		return this.flattener.columnar(objects, addTypeCharacteristic);
+	}
+
 	@Override
 	public List<Map<String, Object>> flatMap(List<?> objects, boolean addTypeCharacteristic) {
-		return objects.stream().map(o -> { //NOSONAR
-					Map<String, Object> flatten = this.defaultObjectMapper.convertValue(o, Map.class);
-					if (addTypeCharacteristic) {
-						String flattenType = o.getClass().toString();
-						flatten.putIfAbsent("_type", flattenType.substring(flattenType.lastIndexOf('.') + 1));
-					}
-					return flatten;
-				})
-				.toList();
+		return this.executionStrategy.map(objects, o -> this.flattener.flatten(o, addTypeCharacteristic));
 	}
 
-	private <F, T> List<T> tosObject(List<F> objects, BiFunction<Class<? extends T>, F, T> converterDelegate, List<Pair<Class<? extends F>, Class<? extends T>>> mapping) {
-		return
-				objects //NOSONAR
-						.stream()
-						.map(entity -> {
-							final Pair<Class<? extends F>, Class<? extends T>> type = this.extractMapping(entity.getClass(), mapping);
-							return converterDelegate.apply(type.getRight(), entity);
-						})
-						.toList();
+	private <F, T> List<T> tosObject(List<F> objects, List<? extends Pair<? extends Class<?>, ? extends Class<?>>> mapping, ResolutionIndex.Direction direction) {
+		List<Class<?>> sources = new ArrayList<>(mapping.size());
+		List<Class<?>> targets = new ArrayList<>(mapping.size());
+		for (Pair<? extends Class<?>, ? extends Class<?>> pair : mapping) {
+			sources.add(pair.getLeft());
+			targets.add(pair.getRight());
+		}
+		ResolutionIndex index = this.index.get(); // Les routes de la table sont résolues sur le même instantané
+		return index.dispatchTable(new DispatchTable.Key(sources, targets, direction), (target, d) -> this.resolveWrapper(index, target, ObjectWrapper.DEFAULT_OPTION, d))
+				.convert(objects, this.executionStrategy);
 	}
 
-	private <F, T> Pair<Class<? extends F>, Class<? extends T>> extractMapping(Class<?> targetClazz, List<Pair<Class<? extends F>, Class<? extends T>>> mapping) {
-		return mapping.stream().filter(pairs -> pairs.getLeft().equals(targetClazz)).findFirst().orElseThrow();
+	private <E, D> ObjectWrapper<E, D> resolveWrapper(Class<?> target, String option, ResolutionIndex.Direction direction) {
+		return this.resolveWrapper(this.index.get(), target, option, direction);
 	}
 
 	@SuppressWarnings("unchecked")
-	private <E, D> ObjectWrapper<E, D> resolveWrapper(Predicate<ObjectWrapper<?, ?>> predicate, String exceptionMessage) {
-		return (ObjectWrapper<E, D>) this.wrappers.stream()
-				.sorted((o1, o2) -> Integer.compare(o2.getPriority(), o1.getPriority()))
-				.filter(predicate)
-				.findFirst()
-				.orElseGet(this::defaultWrapper);
+	private <E, D> ObjectWrapper<E, D> resolveWrapper(ResolutionIndex index, Class<?> target, String option, ResolutionIndex.Direction direction) {
+		WrapperInstrumentation current = this.instrumentation;
+		if (current == WrapperInstrumentation.NOOP) {
+			Optional<ObjectWrapper<?, ?>> resolved = index.resolve(target, option, direction);
+			return (ObjectWrapper<E, D>) (resolved.isPresent() ? resolved.get() : index.defaultWrapper(target, direction, this::buildDefaultWrapper));
+		}
+		long start = System.nanoTime();
+		Optional<ObjectWrapper<?, ?>> resolved = index.resolve(target, option, direction);
+		current.onResolution(target, System.nanoTime() - start, resolved.isPresent());
+		return (ObjectWrapper<E, D>) (resolved.isPresent() ? resolved.get() : index.defaultWrapper(target, direction, this::buildDefaultWrapper));
 	}
 
-	@SuppressWarnings("unchecked")
-	private <E, D> ObjectWrapper<E, D> defaultWrapper() {
-		if (null == this.defaultWrapper) {
-			this.defaultWrapper = WrapperBuilder.getInstance()
-					.setDataClazzType(Object.class)
-					.setEntityClazzType(Object.class)
-					.build();
+	/**
+	 * Mappers du wrapper par défaut, par défaut injectée depuis le contexte (mappers partagés avec les wrappers déclarés)
+	 *
+	 * @param modelMapperResolver résolution des mappers
+	 */
+	@Autowired(required = false)
+	public void setModelMapperResolver(ModelMapperResolver modelMapperResolver) {
+		if (null == modelMapperResolver) {
+			throw new IllegalArgumentException("Missing required model mapper resolver");
 		}
-		return (ObjectWrapper<E, D>) this.defaultWrapper;
+		this.modelMapperResolver = modelMapperResolver;
+		this.index.updateAndGet(ResolutionIndex::refresh); // Wrappers par défaut et tables de dispatch reconstruits avec les nouveaux mappers
+	}
+
+	/**
+	 * Wrapper typé sur la cible : le TypeMap (source, cible) du mapper partagé est créé au premier appel puis réutilisé
+	 */
+	@SuppressWarnings("unchecked")
+	private ObjectWrapper<?, ?> buildDefaultWrapper(Class<?> type, ResolutionIndex.Direction direction) {
+		Class<Object> target = (Class<Object>) type;
+		return WrapperBuilder.getInstance()
+				.setEntityClazzType(direction == ResolutionIndex.Direction.ENTITY ? target : Object.class)
+				.setDataClazzType(direction == ResolutionIndex.Direction.DATA ? target : Object.class)
+				.setName("default:" + target.getSimpleName())
+				.setModelMapperResolver(this.modelMapperResolver)
+				.build();
 	}
 
 }
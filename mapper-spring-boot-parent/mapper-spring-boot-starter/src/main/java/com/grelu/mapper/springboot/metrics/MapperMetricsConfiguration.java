@@ -0,0 +1,32 @@
+package com.grelu.mapper.springboot.metrics;
+
+import com.grelu.mapper.core.metrics.WrapperInstrumentation;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Instrumentation Micrometer, active si Micrometer est présent et qu'un {@link MeterRegistry} est déclaré
+ * Désactivable avec la propriété {@code mapper.metrics.enabled=false}
+ * <p>
+ * Le conteneur l'utilise pour les résolutions, les wrappers la reçoivent via {@code WrapperBuilder.setInstrumentation}.
+ *
+ * @author Dorian GRELU
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "mapper.metrics", name = "enabled", matchIfMissing = true)
+public class MapperMetricsConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean(WrapperInstrumentation.class)
+	public WrapperInstrumentation mapperInstrumentation(ObjectProvider<MeterRegistry> registry) {
+		MeterRegistry meterRegistry = registry.getIfAvailable();
+		return meterRegistry != null ? new MicrometerWrapperInstrumentation(meterRegistry) : WrapperInstrumentation.NOOP;
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.grelu.mapper.springboot.metrics;
+
+import com.grelu.mapper.core.metrics.WrapperInstrumentation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instrumentation des wrappers et du conteneur publiée dans un {@link MeterRegistry}
+ * <p>
+ * Métriques :
+ * <ul>
+ *     <li>mapper.conversion : durée des conversions unitaires (tags wrapper, operation, outcome), avec histogramme</li>
+ *     <li>mapper.batch : durée des traitements de listes (tags wrapper, operation, outcome)</li>
+ *     <li>mapper.batch.size : taille des listes (tags wrapper, operation)</li>
+ *     <li>mapper.mapper.failures : mappers en erreur, ignorés par la chaîne (tags wrapper, exception)</li>
+ *     <li>mapper.resolution : durée de résolution d'un wrapper par le conteneur (tag outcome : resolved / default)</li>
+ * </ul>
+ * Les meters sont créés une seule fois par combinaison de tags puis conservés.
+ *
+ * @author Dorian GRELU
+ */
+public class MicrometerWrapperInstrumentation implements WrapperInstrumentation {
+
+	private record MeterKey(String wrapper, Operation operation, boolean failed) {
+	}
+
+	private record FailureKey(String wrapper, Class<?> exception) {
+	}
+
+	private final MeterRegistry registry;
+
+	private final Map<MeterKey, Timer> conversions = new ConcurrentHashMap<>();
+
+	private final Map<MeterKey, Timer> batches = new ConcurrentHashMap<>();
+
+	private final Map<MeterKey, DistributionSummary> batchSizes = new ConcurrentHashMap<>();
+
+	private final Map<FailureKey, Counter> mapperFailures = new ConcurrentHashMap<>();
+
+	private final Timer resolved;
+
+	private final Timer defaulted;
+
+	public MicrometerWrapperInstrumentation(MeterRegistry registry) {
+		this.registry = registry;
+		this.resolved = this.resolutionTimer("resolved");
+		this.defaulted = this.resolutionTimer("default");
+	}
+
+	@Override
+	public void onConversion(String wrapper, Operation operation, long durationNanos, boolean failed) {
+		this.conversions.computeIfAbsent(new MeterKey(wrapper, operation, failed), key -> Timer.builder("mapper.conversion")
+						.description("Single conversion duration")
+						.tag("wrapper", key.wrapper())
+						.tag("operation", key.operation().name())
+						.tag("outcome", outcome(key.failed()))
+						.publishPercentileHistogram()
+						.register(this.registry))
+				.record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void onBatch(String wrapper, Operation operation, int size, long durationNanos, boolean failed) {
+		this.batches.computeIfAbsent(new MeterKey(wrapper, operation, failed), key -> Timer.builder("mapper.batch")
+						.description("Batch conversion duration")
+						.tag("wrapper", key.wrapper())
+						.tag("operation", key.operation().name())
+						.tag("outcome", outcome(key.failed()))
+						.register(this.registry))
+				.record(durationNanos, TimeUnit.NANOSECONDS);
+		this.batchSizes.computeIfAbsent(new MeterKey(wrapper, operation, false), key -> DistributionSummary.builder("mapper.batch.size")
+						.description("Batch size")
+						.tag("wrapper", key.wrapper())
+						.tag("operation", key.operation().name())
+						.register(this.registry))
+				.record(size);
+	}
+
+	@Override
+	public void onMapperFailure(String wrapper, Exception exception) {
+		this.mapperFailures.computeIfAbsent(new FailureKey(wrapper, exception.getClass()), key -> Counter.builder("mapper.mapper.failures")
+						.description("Failing mappers ignored by the mapper chain")
+						.tag("wrapper", key.wrapper())
+						.tag("exception", key.exception().getSimpleName())
+						.register(this.registry))
+				.increment();
+	}
+
+	@Override
+	public void onResolution(Class<?> target, long durationNanos, boolean resolved) {
+		(resolved ? this.resolved : this.defaulted).record(durationNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private Timer resolutionTimer(String outcome) {
+		return Timer.builder("mapper.resolution")
+				.description("Wrapper resolution duration")
+				.tag("outcome", outcome)
+				.register(this.registry);
+	}
+
+	private static String outcome(boolean failed) {
+		return failed ? "failure" : "success";
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.grelu.mapper.springboot.resolver;
+
+import com.grelu.mapper.core.resolver.ModelMapperRegistry;
+import com.grelu.mapper.core.resolver.ModelMapperResolver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Mappers partagés par les conversions par défaut du conteneur
+ * <p>
+ * Le registre par défaut est {@link ModelMapperRegistry#shared()}, celui des builders : les wrappers déclarés par l'application
+ * et le wrapper par défaut du conteneur réutilisent donc les mêmes TypeMaps (préparés par le préchauffage).
+ * Un ModelMapper déclaré comme bean par l'application n'est pas utilisé : il n'est pas partagé avec les wrappers
+ * construits par {@code WrapperBuilder}, et sa configuration changerait silencieusement celle des conversions par défaut
+ * ({@link com.grelu.mapper.core.CustomModelMapper}). Pour l'utiliser, l'application le déclare comme profil du registre
+ * (avant le premier usage du profil), ou déclare son propre bean {@link ModelMapperResolver}.
+ *
+ * @author Dorian GRELU
+ */
+@Configuration(proxyBeanMethods = false)
+public class ModelMapperResolverConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean(ModelMapperRegistry.class)
+	public ModelMapperRegistry modelMapperRegistry() {
+		return ModelMapperRegistry.shared();
+	}
+
+	@Bean
+	@ConditionalOnMissingBean(ModelMapperResolver.class)
+	public ModelMapperResolver modelMapperResolver(ModelMapperRegistry registry) {
+		return ModelMapperResolver.of(registry);
+	}
+
+}
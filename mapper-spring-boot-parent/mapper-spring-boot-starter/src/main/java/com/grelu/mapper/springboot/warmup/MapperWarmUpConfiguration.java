@@ -0,0 +1,49 @@
+package com.grelu.mapper.springboot.warmup;
+
+import com.grelu.mapper.core.engine.WarmUpReport;
+import com.grelu.mapper.springboot.WrapperContainer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Préchauffage des wrappers au démarrage : les TypeMaps sont créés une fois tous les singletons instanciés,
+ * avant que l'application ne reçoive ses premiers appels
+ * <p>
+ * Propriétés :
+ * <ul>
+ *     <li>mapper.warm-up.mode : eager (par défaut) ou lazy (préparation au premier appel, pour les tests et les CLI)</li>
+ *     <li>mapper.warm-up.fail-on-error : échec du démarrage si un couple ne peut pas être préparé, false par défaut</li>
+ * </ul>
+ *
+ * @author Dorian GRELU
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mapper.warm-up", name = "mode", havingValue = "eager", matchIfMissing = true)
+public class MapperWarmUpConfiguration {
+
+	private static final Logger logger = LogManager.getLogger(MapperWarmUpConfiguration.class);
+
+	@Bean
+	public SmartInitializingSingleton mapperWarmUp(WrapperContainer container, @Value("${mapper.warm-up.fail-on-error:false}") boolean failOnError) {
+		return () -> {
+			WarmUpReport report = container.warmUp();
+			logger.info("Mapper warm-up: {}", report);
+			for (WarmUpReport.Result result : report.getResults()) {
+				if (result.isFailed()) {
+					logger.warn("Unable to warm-up {} ({} -> {})", result.wrapper(), result.source().getName(), result.target().getName(), result.failure());
+				} else if (!result.unmappedProperties().isEmpty()) {
+					logger.debug("Unmapped properties for {} ({} -> {}): {}", result.wrapper(), result.source().getName(), result.target().getName(), result.unmappedProperties());
+				}
+			}
+			if (failOnError) {
+				report.throwIfFailed();
+			}
+		};
+	}
+
+}
@@ -1,21 +1,37 @@
 package com.test.grelu.mapper.sapstarter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.grelu.mapper.core.ObjectWrapper;
 import com.grelu.mapper.core.builder.WrapperBuilder;
+import com.grelu.mapper.core.engine.WarmUpReport;
+import com.grelu.mapper.core.execution.BatchConversionException;
+import com.grelu.mapper.core.resolver.ModelMapperRegistry;
+import com.grelu.mapper.core.resolver.ModelMapperResolver;
 
+import com.grelu.mapper.springboot.ColumnarBatch;
 import com.grelu.mapper.springboot.WrapperContainer;
+import com.grelu.mapper.springboot.metrics.MicrometerWrapperInstrumentation;
 import com.test.grelu.mapper.sapstarter.mock.DomainMock;
 import com.test.grelu.mapper.sapstarter.mock.EntityMock;
+import com.test.grelu.mapper.sapstarter.mock.InheritedDomainMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
+import org.modelmapper.internal.Pair;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
-import org.springframework.util.ReflectionUtils;
 
-import java.lang.reflect.Field;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 
 @SpringBootTest(classes = SpringBootApplicationMapperTest.class)
@@ -25,24 +41,44 @@ public class WrapperContainerImplTest {
 	@Autowired
 	private WrapperContainer container;
 
+	@Autowired
+	private ModelMapperResolver modelMapperResolver;
+
 	@Test
-	public void testAddWrapperInContainer() throws ReflectiveOperationException {
+	public void testAddWrapperInContainer() {
 		ObjectWrapper<EntityMock, DomainMock> firstWrapper = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class).build();
 		ObjectWrapper<EntityMock, DomainMock> secondWrapper = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class).build();
 
 		container.registerWrappers(firstWrapper)
 				.registerWrappers(secondWrapper);
 
-		Field field = ReflectionUtils.findField(container.getClass(), "wrappers");
-		if (null == field) {
-			throw new ReflectiveOperationException("Missing required field");
-		}
-		field.setAccessible(true);
-		List<ObjectWrapper<?, ?>> wrappers = (List<ObjectWrapper<?, ?>>) field.get(container);
+		List<ObjectWrapper<?, ?>> wrappers = container.getWrappers();
 
 		Assertions.assertThat(wrappers).hasSize(2).contains(firstWrapper, secondWrapper);
 	}
 
+	@Test
+	public void testUnregisterAndReplaceWrappers() {
+		ObjectWrapper<EntityMock, DomainMock> firstWrapper = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class).build();
+		ObjectWrapper<EntityMock, DomainMock> secondWrapper = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class)
+				.setPriority(10)
+				.build();
+
+		container.registerWrappers(firstWrapper, secondWrapper);
+		List<ObjectWrapper<?, ?>> snapshot = container.getWrappers();
+		long version = container.getWrappersVersion();
+		Assertions.assertThat(container.<EntityMock, DomainMock>resolveEntityWrapper(EntityMock.class, ObjectWrapper.DEFAULT_OPTION)).isSameAs(secondWrapper);
+
+		container.unregisterWrapper(secondWrapper);
+		Assertions.assertThat(container.<EntityMock, DomainMock>resolveEntityWrapper(EntityMock.class, ObjectWrapper.DEFAULT_OPTION)).isSameAs(firstWrapper);
+		Assertions.assertThat(container.getWrappersVersion()).isGreaterThan(version);
+		Assertions.assertThat(snapshot).containsExactly(firstWrapper, secondWrapper);
+
+		container.replaceWrappers(List.of(secondWrapper));
+		Assertions.assertThat(container.getWrappers()).containsExactly(secondWrapper);
+		Assertions.assertThatThrownBy(() -> container.getWrappers().add(firstWrapper)).isInstanceOf(UnsupportedOperationException.class);
+	}
+
 	@Test
 	public void testWrapperEntityWithOptions() throws NoSuchFieldException, IllegalAccessException {
 		ObjectWrapper<EntityMock, DomainMock> firstWrapper = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class)
@@ -67,6 +103,191 @@ public class WrapperContainerImplTest {
 		Assertions.assertThat(mapped.lastname).isEqualTo("JACQUES");
 	}
 
+	@Test
+	public void testResolutionAfterRegistration() {
+		ObjectWrapper<EntityMock, DomainMock> firstWrapper = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class).build();
+		ObjectWrapper<EntityMock, DomainMock> secondWrapper = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class)
+				.setPriority(10)
+				.build();
+
+		container.registerWrapper(firstWrapper);
+		Assertions.assertThat(container.<EntityMock, DomainMock>resolveEntityWrapper(EntityMock.class, ObjectWrapper.DEFAULT_OPTION)).isSameAs(firstWrapper);
+
+		container.registerWrapper(secondWrapper);
+		Assertions.assertThat(container.<EntityMock, DomainMock>resolveEntityWrapper(EntityMock.class, ObjectWrapper.DEFAULT_OPTION)).isSameAs(secondWrapper);
+		Assertions.assertThat(container.<EntityMock, DomainMock>resolveDataWrapper(DomainMock.class, ObjectWrapper.DEFAULT_OPTION)).isSameAs(secondWrapper);
+	}
+
+	@Test
+	public void testToResolvesDirection() {
+		AtomicInteger entityConversions = new AtomicInteger();
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.setDataConverter(context -> {
+					DomainMock domain = new DomainMock();
+					domain.lastname = context.getValue().lastname.toUpperCase(Locale.ROOT);
+					return domain;
+				})
+				.setEntityConverter(context -> {
+					entityConversions.incrementAndGet();
+					return new EntityMock();
+				})
+				.build();
+		container.registerWrapper(wrapper);
+
+		EntityMock en = new EntityMock();
+		en.lastname = "jacques";
+
+		Assertions.assertThat(container.to(DomainMock.class, en)).get().extracting(domain -> domain.lastname).isEqualTo("JACQUES");
+		Assertions.assertThat(entityConversions).hasValue(0);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFlatMapMatchesJackson() {
+		EntityMock en = new EntityMock();
+		en.firstname = "eric";
+		en.birthday = new Date(0);
+		DomainMock domain = new DomainMock();
+		domain.lastname = "jacques";
+		domain.age = 42;
+
+		List<Map<String, Object>> flatten = container.flatMap(List.of(en, domain));
+
+		Map<String, Object> expectedEntity = new ObjectMapper().convertValue(en, Map.class);
+		expectedEntity.put("_type", "EntityMock");
+		Map<String, Object> expectedDomain = new ObjectMapper().convertValue(domain, Map.class);
+		expectedDomain.put("_type", "DomainMock");
+		Assertions.assertThat(flatten).containsExactly(expectedEntity, expectedDomain);
+		Assertions.assertThat(container.flatMap(List.of(en), false).get(0)).doesNotContainKey("_type").containsEntry("birthday", 0L);
+	}
+
+	@Test
+	public void testFlatColumns() throws IOException {
+		EntityMock first = new EntityMock();
+		first.firstname = "eric";
+		first.birthday = new Date(0);
+		EntityMock second = new EntityMock();
+		second.lastname = "jacques, \"junior\"";
+		List<EntityMock> rows = List.of(first, second);
+
+		ColumnarBatch batch = container.flatColumns(rows);
+
+		Assertions.assertThat(batch.size()).isEqualTo(2);
+		Assertions.assertThat(batch.getColumns()).containsExactly("firstname", "lastname", "birthday", "_type");
+		Assertions.assertThat(batch.getColumnType(batch.indexOf("birthday"))).isEqualTo(Long.class);
+		Assertions.assertThat(batch.get(1, "birthday")).isNull();
+
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		batch.writeJson(json);
+		ObjectMapper objectMapper = new ObjectMapper();
+		Assertions.assertThat(objectMapper.readTree(json.toByteArray())).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(container.flatMap(rows))));
+
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		batch.writeCsv(csv);
+		Assertions.assertThat(csv.toString(StandardCharsets.UTF_8)).isEqualTo(
+				"firstname,lastname,birthday,_type\r\n" +
+						"eric,,0,EntityMock\r\n" +
+						",\"jacques, \"\"junior\"\"\",,EntityMock\r\n");
+
+		ColumnarBatch.Builder builder = ColumnarBatch.builder(2);
+		builder.set(builder.addRow(), "ratio", 1.5f).set(0, "count", (short) 3).set(0, "flag", (byte) 7).set(0, "grade", 'A');
+		builder.addRow();
+		ColumnarBatch primitives = builder.build();
+		Assertions.assertThat(IntStream.range(0, 4).mapToObj(primitives::getColumnType).toList())
+				.containsExactly(Float.class, Short.class, Byte.class, Character.class);
+		Assertions.assertThat(primitives.get(0, "grade")).isEqualTo('A');
+		Assertions.assertThat(primitives.get(1, "ratio")).isNull();
+		ByteArrayOutputStream primitivesJson = new ByteArrayOutputStream();
+		primitives.writeJson(primitivesJson);
+		Assertions.assertThat(primitivesJson.toString(StandardCharsets.UTF_8))
+				.isEqualTo("[{\"ratio\":1.5,\"count\":3,\"flag\":7,\"grade\":\"A\"},{\"ratio\":null,\"count\":null,\"flag\":null,\"grade\":null}]");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testPolymorphicEntityObjects() {
+		container.registerWrapper(WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.setEntityConverter(context -> {
+					EntityMock entity = new EntityMock();
+					entity.lastname = context.getValue().lastname;
+					entity.firstname = context.getValue() instanceof InheritedDomainMock ? "inherited" : "domain";
+					return entity;
+				})
+				.build());
+
+		List<DomainMock> domains = IntStream.range(0, 100).mapToObj(i -> {
+			DomainMock domain = i % 3 == 0 ? new InheritedDomainMock() : new DomainMock();
+			domain.lastname = "name" + i;
+			return domain;
+		}).toList();
+
+		List<EntityMock> entities = container.toEntityObjects(domains, Pair.of(DomainMock.class, EntityMock.class));
+
+		Assertions.assertThat(entities).extracting(entity -> entity.lastname)
+				.containsExactlyElementsOf(IntStream.range(0, 100).mapToObj(i -> "name" + i).toList());
+		Assertions.assertThat(entities).extracting(entity -> entity.firstname)
+				.containsExactlyElementsOf(IntStream.range(0, 100).mapToObj(i -> i % 3 == 0 ? "inherited" : "domain").toList());
+		Assertions.assertThatThrownBy(() -> container.toEntityObjects(List.of("unknown"), Pair.of(DomainMock.class, EntityMock.class)))
+				.isInstanceOf(NoSuchElementException.class);
+	}
+
+	@Test
+	public void testPolymorphicEntityObjectsFailure() {
+		container.registerWrapper(WrapperBuilder.<EntityMock, DomainMock>getInstance(EntityMock.class, DomainMock.class)
+				.setEntityConverter(context -> {
+					if ("bad".equals(context.getValue().lastname)) {
+						throw new IllegalArgumentException("bad value");
+					}
+					EntityMock entity = new EntityMock();
+					entity.lastname = context.getValue().lastname;
+					return entity;
+				})
+				.build());
+
+		List<DomainMock> domains = List.of(domain(new DomainMock(), "B0"), domain(new InheritedDomainMock(), "bad"),
+				domain(new DomainMock(), "B2"), domain(new InheritedDomainMock(), "A1"));
+
+		Assertions.assertThatThrownBy(() -> container.toEntityObjects(domains, Pair.of(DomainMock.class, EntityMock.class)))
+				.isInstanceOfSatisfying(BatchConversionException.class, e -> {
+					Assertions.assertThat(e.getFailedIndices()).containsExactly(1);
+					Assertions.assertThat(e.<EntityMock>getPartialResults()).extracting(entity -> entity == null ? null : entity.lastname)
+							.containsExactly("B0", null, "B2", "A1");
+				});
+	}
+
+	private static DomainMock domain(DomainMock domain, String lastname) {
+		domain.lastname = lastname;
+		return domain;
+	}
+
+	@Test
+	public void testMicrometerInstrumentation() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ObjectWrapper<EntityMock, DomainMock> wrapper = WrapperBuilder.getInstance(EntityMock.class, DomainMock.class)
+				.setName("customer")
+				.setInstrumentation(new MicrometerWrapperInstrumentation(registry))
+				.build();
+
+		wrapper.toData(new EntityMock());
+		wrapper.toDatas(List.of(new EntityMock(), new EntityMock()));
+
+		Assertions.assertThat(registry.get("mapper.conversion").tag("wrapper", "customer").tag("operation", "TO_DATA").timer().count()).isEqualTo(1);
+		Assertions.assertThat(registry.get("mapper.batch.size").tag("wrapper", "customer").summary().totalAmount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testWarmUp() {
+		container.registerWrappers(WrapperBuilder.getInstance(EntityMock.class, DomainMock.class).setName("customer").build(),
+				WrapperBuilder.getInstance(EntityMock.class, InheritedDomainMock.class).useCompiledMappingEngine().build());
+
+		WarmUpReport report = container.warmUp();
+		Assertions.assertThat(report.hasFailures()).isFalse();
+		Assertions.assertThat(report.getResults()).hasSize(4);
+		Assertions.assertThat(report.getResults()).filteredOn(result -> result.source() == EntityMock.class && result.target() == InheritedDomainMock.class)
+				.singleElement()
+				.satisfies(result -> Assertions.assertThat(result.unmappedProperties()).contains("family"));
+	}
+
 	@Test
 	public void testWrapperEntityWithDefaultWrapper() throws NoSuchFieldException, IllegalAccessException {
 
@@ -78,4 +299,29 @@ public class WrapperContainerImplTest {
 		Assertions.assertThat(mapped.lastname).isEqualTo("jacques");
 	}
 
+	@Test
+	public void testDefaultWrapperUsesSharedModelMapper() {
+		Assertions.assertThat(modelMapperResolver.resolve()).isSameAs(ModelMapperRegistry.shared().get());
+
+		EntityMock entity = new EntityMock();
+		entity.lastname = "jacques";
+		InheritedDomainMock converted = container.toEntity(InheritedDomainMock.class, entity);
+
+		Assertions.assertThat(converted.lastname).isEqualTo("jacques");
+		Assertions.assertThat(modelMapperResolver.resolve().getTypeMap(EntityMock.class, InheritedDomainMock.class)).isNotNull();
+	}
+
+	@Test
+	public void testDefaultWrapperCachedPerTarget() {
+		ObjectWrapper<?, ?> entityDefault = container.resolveEntityWrapper(InheritedDomainMock.class, ObjectWrapper.DEFAULT_OPTION);
+		Assertions.assertThat(container.<Object, Object>resolveEntityWrapper(InheritedDomainMock.class, ObjectWrapper.DEFAULT_OPTION)).isSameAs(entityDefault);
+		Assertions.assertThat(container.<Object, Object>resolveDataWrapper(InheritedDomainMock.class, ObjectWrapper.DEFAULT_OPTION)).isNotSameAs(entityDefault);
+		Assertions.assertThat(container.<Object, Object>resolveEntityWrapper(DomainMock.class, ObjectWrapper.DEFAULT_OPTION)).isNotSameAs(entityDefault);
+
+		// Le cache négatif est propre à l'instantané : un wrapper enregistré ensuite est bien résolu
+		ObjectWrapper<InheritedDomainMock, DomainMock> wrapper = WrapperBuilder.getInstance(InheritedDomainMock.class, DomainMock.class).build();
+		container.registerWrapper(wrapper);
+		Assertions.assertThat(container.<InheritedDomainMock, DomainMock>resolveEntityWrapper(InheritedDomainMock.class, ObjectWrapper.DEFAULT_OPTION)).isSameAs(wrapper);
+	}
+
 }